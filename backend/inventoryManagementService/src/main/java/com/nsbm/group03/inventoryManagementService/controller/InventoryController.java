@@ -1,8 +1,12 @@
 package com.nsbm.group03.inventoryManagementService.controller;
 
+import com.nsbm.group03.inventoryManagementService.dto.InventoryDeductRequestDTO;
+import com.nsbm.group03.inventoryManagementService.dto.InventoryDeductResponseDTO;
 import com.nsbm.group03.inventoryManagementService.dto.InventoryItemDTO;
 import com.nsbm.group03.inventoryManagementService.service.InventoryService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
@@ -31,6 +35,15 @@ class InventoryController {
         return inventoryService.updateStock(id, amountUsed);
     }
 
+    // Deduct a batch of items by name, all or nothing; 409 with per-line results when any line cannot be deducted
+    @PostMapping("/deduct")
+    public ResponseEntity<InventoryDeductResponseDTO> deductItems(
+            @RequestBody List<InventoryDeductRequestDTO> lines,
+            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        InventoryDeductResponseDTO result = inventoryService.deductItems(lines, idempotencyKey);
+        return ResponseEntity.status(result.isApplied() ? HttpStatus.OK : HttpStatus.CONFLICT).body(result);
+    }
+
     // Get inventory item by id
     @GetMapping("/{id}")
     public InventoryItemDTO getItemById(@PathVariable Long id) {
@@ -0,0 +1,26 @@
+package com.nsbm.group03.inventoryManagementService.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Outcome of one item of a batch deduction; remaining is the stock left once the request is over
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryDeductLineResultDTO {
+
+    public enum Status {
+        DEDUCTED,
+        INSUFFICIENT_STOCK,
+        NOT_FOUND,
+        // would have been deducted, but another line failed and the batch was rolled back
+        ROLLED_BACK
+    }
+
+    private String itemName;
+    private Long itemId;
+    private int requested;
+    private Status status;
+    private Integer remaining;
+}
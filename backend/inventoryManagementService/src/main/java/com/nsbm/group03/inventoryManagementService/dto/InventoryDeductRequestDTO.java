@@ -0,0 +1,10 @@
+package com.nsbm.group03.inventoryManagementService.dto;
+
+import lombok.Data;
+
+// One line of a batch deduction: take quantity units of the item with this name
+@Data
+public class InventoryDeductRequestDTO {
+    private String itemName;
+    private int quantity;
+}
@@ -0,0 +1,17 @@
+package com.nsbm.group03.inventoryManagementService.dto;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Result of a batch deduction: applied only if every line was deducted; replayed when the idempotency key was already used
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class InventoryDeductResponseDTO {
+    private boolean applied;
+    private boolean replayed;
+    private List<InventoryDeductLineResultDTO> lines;
+}
@@ -0,0 +1,19 @@
+package com.nsbm.group03.inventoryManagementService.entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.Data;
+
+// Idempotency key of an applied batch deduction, so a redelivered request is not deducted twice
+@Entity
+@Data
+public class InventoryDeduction {
+    @Id
+    @Column(length = 100)
+    private String idempotencyKey;
+    private LocalDateTime appliedAt;
+    private int lineCount;
+}
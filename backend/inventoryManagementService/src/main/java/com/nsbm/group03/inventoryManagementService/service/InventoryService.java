@@ -1,19 +1,45 @@
 package com.nsbm.group03.inventoryManagementService.service;
 
+import com.nsbm.group03.inventoryManagementService.dto.InventoryDeductLineResultDTO;
+import com.nsbm.group03.inventoryManagementService.dto.InventoryDeductRequestDTO;
+import com.nsbm.group03.inventoryManagementService.dto.InventoryDeductResponseDTO;
 import com.nsbm.group03.inventoryManagementService.dto.InventoryItemDTO;
 import com.nsbm.group03.inventoryManagementService.entity.InventoryItem;
 import com.nsbm.group03.inventoryManagementService.repository.InventoryRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
-
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionAspectSupport;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 @Service
 public class InventoryService {
+    private static final String DEDUCT_SQL =
+            "UPDATE inventory_item SET quantity = quantity - ? WHERE id = ? AND quantity >= ?";
+
+    private static final String INSERT_DEDUCTION_SQL =
+            "INSERT INTO inventory_deduction (idempotency_key, applied_at, line_count) VALUES (?, ?, ?)";
+
     @Autowired
     private InventoryRepository inventoryRepository;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     public List<InventoryItemDTO> getAllItem() {
         return inventoryRepository.findAll().stream()
                 .map(this::mapToDTO)
@@ -40,6 +66,102 @@ public class InventoryService {
         return mapToDTO(updatedItem);
     }
 
+    /**
+     * Deduct a batch of items by name in one transaction, all or nothing.
+     * The items are resolved with one query, then every decrement is a conditional
+     * UPDATE ... SET quantity = quantity - ? WHERE quantity >= ?, sent as one JDBC batch in item id order,
+     * so concurrent deductions never drive stock negative and cannot deadlock on each other.
+     * If any line is unknown or short of stock the transaction is rolled back and applied is false.
+     * A request carrying an idempotency key that was already applied changes nothing and comes back as replayed.
+     */
+    @Transactional
+    public InventoryDeductResponseDTO deductItems(List<InventoryDeductRequestDTO> lines, String idempotencyKey) {
+        if (lines == null || lines.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "No items to deduct");
+        }
+        // the same item on several lines is deducted once, for the total
+        Map<String, Integer> requested = new LinkedHashMap<>();
+        for (InventoryDeductRequestDTO line : lines) {
+            if (line.getItemName() == null || line.getItemName().isBlank() || line.getQuantity() <= 0) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                        "Each line needs an item name and a quantity greater than zero: " + line);
+            }
+            requested.merge(line.getItemName(), line.getQuantity(), Integer::sum);
+        }
+
+        if (idempotencyKey != null && !recordIdempotencyKey(idempotencyKey, requested.size())) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+            return new InventoryDeductResponseDTO(true, true, List.of());
+        }
+
+        // names are not unique; the oldest item with a name is the one deducted
+        Map<String, InventoryItem> itemsByName = new HashMap<>();
+        for (InventoryItem item : inventoryRepository.findByNameIn(requested.keySet())) {
+            itemsByName.merge(item.getName(), item, (a, b) -> a.getId() <= b.getId() ? a : b);
+        }
+        List<InventoryItem> targets = new ArrayList<>(itemsByName.values());
+        targets.sort(Comparator.comparing(InventoryItem::getId));
+
+        List<Object[]> params = new ArrayList<>(targets.size());
+        for (InventoryItem item : targets) {
+            int quantity = requested.get(item.getName());
+            params.add(new Object[] { quantity, item.getId(), quantity });
+        }
+        int[] counts = targets.isEmpty() ? new int[0] : jdbcTemplate.batchUpdate(DEDUCT_SQL, params);
+        Map<Long, Boolean> deducted = new HashMap<>();
+        for (int i = 0; i < targets.size(); i++) {
+            deducted.put(targets.get(i).getId(), counts[i] != 0);
+        }
+        Map<Long, Integer> stock = currentStock(targets);
+
+        boolean applied = deducted.size() == requested.size() && !deducted.containsValue(false);
+        List<InventoryDeductLineResultDTO> results = new ArrayList<>(requested.size());
+        for (Map.Entry<String, Integer> line : requested.entrySet()) {
+            InventoryItem item = itemsByName.get(line.getKey());
+            if (item == null) {
+                results.add(new InventoryDeductLineResultDTO(line.getKey(), null, line.getValue(),
+                        InventoryDeductLineResultDTO.Status.NOT_FOUND, null));
+            } else if (!deducted.get(item.getId())) {
+                results.add(new InventoryDeductLineResultDTO(line.getKey(), item.getId(), line.getValue(),
+                        InventoryDeductLineResultDTO.Status.INSUFFICIENT_STOCK, stock.get(item.getId())));
+            } else if (applied) {
+                results.add(new InventoryDeductLineResultDTO(line.getKey(), item.getId(), line.getValue(),
+                        InventoryDeductLineResultDTO.Status.DEDUCTED, stock.get(item.getId())));
+            } else {
+                results.add(new InventoryDeductLineResultDTO(line.getKey(), item.getId(), line.getValue(),
+                        InventoryDeductLineResultDTO.Status.ROLLED_BACK, stock.get(item.getId()) + line.getValue()));
+            }
+        }
+        if (!applied) {
+            TransactionAspectSupport.currentTransactionStatus().setRollbackOnly();
+        }
+        return new InventoryDeductResponseDTO(applied, false, results);
+    }
+
+    // false when the key is already taken; a concurrent request with the same key waits here for the first to finish
+    private boolean recordIdempotencyKey(String idempotencyKey, int lineCount) {
+        try {
+            jdbcTemplate.update(INSERT_DEDUCTION_SQL, idempotencyKey, Timestamp.valueOf(LocalDateTime.now()), lineCount);
+            return true;
+        } catch (DuplicateKeyException e) {
+            return false;
+        }
+    }
+
+    private Map<Long, Integer> currentStock(List<InventoryItem> items) {
+        Map<Long, Integer> stock = new HashMap<>();
+        if (items.isEmpty()) {
+            return stock;
+        }
+        String placeholders = String.join(", ", Collections.nCopies(items.size(), "?"));
+        jdbcTemplate.query("SELECT id, quantity FROM inventory_item WHERE id IN (" + placeholders + ")",
+                rs -> {
+                    stock.put(rs.getLong(1), rs.getInt(2));
+                },
+                items.stream().map(InventoryItem::getId).toArray());
+        return stock;
+    }
+
     public InventoryItemDTO getItemById(Long id) {
         InventoryItem item = inventoryRepository.findById(id).orElseThrow(() -> new RuntimeException("Item not found"));
         return mapToDTO(item);
@@ -0,0 +1,199 @@
+package com.nsbm.group03.inventoryManagementService.service;
+
+import com.nsbm.group03.inventoryManagementService.dto.InventoryDeductLineResultDTO;
+import com.nsbm.group03.inventoryManagementService.dto.InventoryDeductRequestDTO;
+import com.nsbm.group03.inventoryManagementService.dto.InventoryDeductResponseDTO;
+import com.nsbm.group03.inventoryManagementService.entity.InventoryItem;
+import com.nsbm.group03.inventoryManagementService.repository.InventoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Batch deductions through InventoryService.deductItems: every line is applied or none is,
+ * and a repeated idempotency key is not applied twice. Runs on its own in-memory database.
+ * The throughput benchmark is opt-in: mvn test -Dtest=InventoryDeductionTest -Dinventory.benchmark=true
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:inventory_deduct;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class InventoryDeductionTest {
+
+    @Autowired
+    private InventoryService inventoryService;
+
+    @Autowired
+    private InventoryRepository inventoryRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        jdbcTemplate.update("DELETE FROM inventory_deduction");
+        inventoryRepository.deleteAll();
+    }
+
+    @Test
+    void testDeduct_AppliesEveryLine() {
+        InventoryItem rice = item("Rice", 10);
+        InventoryItem eggs = item("Eggs", 30);
+
+        InventoryDeductResponseDTO result = inventoryService.deductItems(
+                List.of(line("Rice", 4), line("Eggs", 12), line("Rice", 1)), null);
+
+        assertTrue(result.isApplied());
+        assertFalse(result.isReplayed());
+        assertEquals(2, result.getLines().size());
+        assertLine(result.getLines().get(0), "Rice", 5, InventoryDeductLineResultDTO.Status.DEDUCTED, 5);
+        assertLine(result.getLines().get(1), "Eggs", 12, InventoryDeductLineResultDTO.Status.DEDUCTED, 18);
+        assertEquals(5, stock(rice));
+        assertEquals(18, stock(eggs));
+    }
+
+    @Test
+    void testDeduct_RollsBackWhenAnyLineFails() {
+        InventoryItem rice = item("Rice", 10);
+        InventoryItem eggs = item("Eggs", 3);
+
+        InventoryDeductResponseDTO result = inventoryService.deductItems(
+                List.of(line("Rice", 4), line("Eggs", 5), line("Saffron", 1)), null);
+
+        assertFalse(result.isApplied());
+        assertLine(result.getLines().get(0), "Rice", 4, InventoryDeductLineResultDTO.Status.ROLLED_BACK, 10);
+        assertLine(result.getLines().get(1), "Eggs", 5, InventoryDeductLineResultDTO.Status.INSUFFICIENT_STOCK, 3);
+        assertLine(result.getLines().get(2), "Saffron", 1, InventoryDeductLineResultDTO.Status.NOT_FOUND, null);
+        assertEquals(10, stock(rice));
+        assertEquals(3, stock(eggs));
+    }
+
+    @Test
+    void testDeduct_ReplayedKeyIsNotAppliedTwice() {
+        InventoryItem rice = item("Rice", 10);
+        String key = UUID.randomUUID().toString();
+
+        assertTrue(inventoryService.deductItems(List.of(line("Rice", 4)), key).isApplied());
+        InventoryDeductResponseDTO replay = inventoryService.deductItems(List.of(line("Rice", 4)), key);
+
+        assertTrue(replay.isReplayed());
+        assertEquals(6, stock(rice));
+    }
+
+    @Test
+    void testDeduct_FailedKeyCanBeRetried() {
+        InventoryItem rice = item("Rice", 3);
+        String key = UUID.randomUUID().toString();
+
+        assertFalse(inventoryService.deductItems(List.of(line("Rice", 4)), key).isApplied());
+        jdbcTemplate.update("UPDATE inventory_item SET quantity = 10 WHERE id = ?", rice.getId());
+        InventoryDeductResponseDTO retry = inventoryService.deductItems(List.of(line("Rice", 4)), key);
+
+        assertTrue(retry.isApplied());
+        assertFalse(retry.isReplayed());
+        assertEquals(6, stock(rice));
+    }
+
+    @Test
+    void testDeduct_ConcurrentRequestsNeverOversell() throws Exception {
+        InventoryItem rice = item("Rice", 100);
+        InventoryItem eggs = item("Eggs", 100);
+        AtomicLong applied = new AtomicLong();
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 80; i++) {
+            // alternate the line order so requests lock the rows in different request orders
+            List<InventoryDeductRequestDTO> lines = i % 2 == 0
+                    ? List.of(line("Rice", 3), line("Eggs", 2))
+                    : List.of(line("Eggs", 2), line("Rice", 3));
+            futures.add(pool.submit(() -> {
+                if (inventoryService.deductItems(lines, UUID.randomUUID().toString()).isApplied()) {
+                    applied.incrementAndGet();
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get(1, TimeUnit.MINUTES);
+        }
+        pool.shutdown();
+
+        assertEquals(33, applied.get());
+        assertEquals(100 - 3 * 33, stock(rice));
+        assertEquals(100 - 2 * 33, stock(eggs));
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "inventory.benchmark", matches = "true")
+    void benchmarkLinesPerRequest() {
+        int requests = Integer.getInteger("inventory.benchmark.requests", 2000);
+        List<InventoryItem> items = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            items.add(item("Item-" + i, Integer.MAX_VALUE));
+        }
+        for (int lines : new int[] { 1, 10, 100 }) {
+            List<InventoryDeductRequestDTO> batch = new ArrayList<>();
+            for (int i = 0; i < lines; i++) {
+                batch.add(line(items.get(i).getName(), 1));
+            }
+            // warm up before timing
+            for (int i = 0; i < 100; i++) {
+                inventoryService.deductItems(batch, UUID.randomUUID().toString());
+            }
+            long started = System.nanoTime();
+            for (int i = 0; i < requests; i++) {
+                assertTrue(inventoryService.deductItems(batch, UUID.randomUUID().toString()).isApplied());
+            }
+            double seconds = (System.nanoTime() - started) / 1e9;
+            System.out.printf("[Benchmark] %d lines per request: %d requests in %.2f s (%.0f requests/s, %.0f lines/s)%n",
+                    lines, requests, seconds, requests / seconds, (double) requests * lines / seconds);
+        }
+    }
+
+    private InventoryItem item(String name, int quantity) {
+        InventoryItem item = new InventoryItem();
+        item.setName(name);
+        item.setCategory("Dry goods");
+        item.setQuantity(quantity);
+        item.setLowStock(1);
+        return inventoryRepository.save(item);
+    }
+
+    private static InventoryDeductRequestDTO line(String itemName, int quantity) {
+        InventoryDeductRequestDTO line = new InventoryDeductRequestDTO();
+        line.setItemName(itemName);
+        line.setQuantity(quantity);
+        return line;
+    }
+
+    private int stock(InventoryItem item) {
+        return jdbcTemplate.queryForObject("SELECT quantity FROM inventory_item WHERE id = ?", Integer.class, item.getId());
+    }
+
+    private static void assertLine(InventoryDeductLineResultDTO line, String itemName, int requested,
+                                   InventoryDeductLineResultDTO.Status status, Integer remaining) {
+        assertEquals(itemName, line.getItemName());
+        assertEquals(requested, line.getRequested());
+        assertEquals(status, line.getStatus());
+        assertEquals(remaining, line.getRemaining());
+    }
+}
@@ -2,8 +2,10 @@ package com.nsbm.group03.kitchenManagementService;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
+@EnableScheduling
 public class KitchenManagementServiceApplication {
 
 	public static void main(String[] args) {
@@ -3,78 +3,103 @@ package com.nsbm.group03.kitchenManagementService.client;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Supplier;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
 import com.nsbm.group03.kitchenManagementService.dto.InventoryItemDTO;
 import com.nsbm.group03.kitchenManagementService.dto.InventoryRequestDTO;
 
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
 /**
  * REST client to communicate with the Inventory Management Service.
  * Kitchen does NOT store inventory — it sends requests to Inventory Service.
+ * Calls go through the pooled, time-bounded client from InventoryHttpClientConfig, inside its circuit breaker
+ * and bulkhead; while the breaker is open or the bulkhead is full a call fails at once with a
+ * ResourceAccessException instead of waiting. Every call is timed as inventory.client.requests.
  */
 @Component
 public class InventoryClient {
 
     private static final Logger logger = LoggerFactory.getLogger(InventoryClient.class);
 
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    static final String REQUESTS_METRIC = "inventory.client.requests";
+
     private final RestTemplate restTemplate;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+    private final MeterRegistry meterRegistry;
 
     @Value("${inventory.service.url}")
     private String inventoryServiceUrl;
 
-    public InventoryClient(RestTemplate restTemplate) {
+    public InventoryClient(@Qualifier("inventoryRestTemplate") RestTemplate restTemplate,
+                           CircuitBreaker inventoryCircuitBreaker,
+                           Bulkhead inventoryBulkhead,
+                           MeterRegistry meterRegistry) {
         this.restTemplate = restTemplate;
+        this.circuitBreaker = inventoryCircuitBreaker;
+        this.bulkhead = inventoryBulkhead;
+        this.meterRegistry = meterRegistry;
     }
 
     /**
-     * Send inventory consumption request when a kitchen order is created.
-     * Deducts ingredient quantities from the Inventory Service.
+     * Send one inventory consumption request for a kitchen order (called by InventoryDeductionOutbox).
+     * The idempotency key lets the Inventory Service ignore a redelivery of a request it already applied.
+     * Throws RestClientException when the request could not be delivered or was rejected.
      */
-    public boolean deductInventory(List<InventoryRequestDTO> items) {
-        try {
-            String url = inventoryServiceUrl + "/api/inventory/deduct";
-            restTemplate.postForEntity(url, items, Void.class);
-            logger.info("Inventory deduction request sent successfully for {} items", items.size());
-            return true;
-        } catch (RestClientException e) {
-            logger.warn("Failed to connect to Inventory Service: {}. Order will proceed without inventory deduction.", e.getMessage());
-            return false;
-        }
+    public void deductInventory(List<InventoryRequestDTO> items, String idempotencyKey) {
+        String url = inventoryServiceUrl + "/api/inventory/deduct";
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        headers.set(IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+        call("deduct", () -> restTemplate.postForEntity(url, new HttpEntity<>(items, headers), Void.class));
+        logger.info("Inventory deduction {} sent successfully for {} items", idempotencyKey, items.size());
     }
 
     /**
-     * Get all inventory items from Inventory Service.
+     * Get all inventory items from Inventory Service (read through InventoryItemCache).
+     * Throws RestClientException when the Inventory Service cannot be reached or fails.
      */
     public List<InventoryItemDTO> getAllInventoryItems() {
-        try {
-            String url = inventoryServiceUrl + "/api/inventory";
-            InventoryItemDTO[] items = restTemplate.getForObject(url, InventoryItemDTO[].class);
-            if (items != null) {
-                logger.info("Retrieved {} inventory items from Inventory Service", items.length);
-                return Arrays.asList(items);
-            }
-            return Collections.emptyList();
-        } catch (RestClientException e) {
-            logger.warn("Failed to fetch inventory items: {}", e.getMessage());
-            return Collections.emptyList();
+        String url = inventoryServiceUrl + "/api/inventory";
+        InventoryItemDTO[] items = call("list", () -> restTemplate.getForObject(url, InventoryItemDTO[].class));
+        if (items != null) {
+            logger.info("Retrieved {} inventory items from Inventory Service", items.length);
+            return Arrays.asList(items);
         }
+        return Collections.emptyList();
     }
 
     /**
-     * Get a specific inventory item by ID from Inventory Service.
+     * Get a specific inventory item by ID from Inventory Service (read through InventoryItemCache).
+     * Returns null when the item does not exist; throws RestClientException when the Inventory Service
+     * cannot be reached or fails.
      */
     public InventoryItemDTO getInventoryItemById(Long itemId) {
         try {
             String url = inventoryServiceUrl + "/api/inventory/" + itemId;
-            return restTemplate.getForObject(url, InventoryItemDTO.class);
-        } catch (RestClientException e) {
-            logger.warn("Failed to fetch inventory item {}: {}", itemId, e.getMessage());
+            return call("get", () -> restTemplate.getForObject(url, InventoryItemDTO.class));
+        } catch (HttpClientErrorException.NotFound e) {
             return null;
         }
     }
@@ -85,11 +110,33 @@ public class InventoryClient {
     public boolean checkStock(String itemName, int requiredQuantity) {
         try {
             String url = inventoryServiceUrl + "/api/inventory/check-stock?itemName=" + itemName + "&quantity=" + requiredQuantity;
-            Boolean result = restTemplate.getForObject(url, Boolean.class);
+            Boolean result = call("check-stock", () -> restTemplate.getForObject(url, Boolean.class));
             return result != null && result;
         } catch (RestClientException e) {
             logger.warn("Failed to check inventory stock for {}: {}", itemName, e.getMessage());
             return true; // Allow order to proceed if inventory service is unreachable
         }
     }
+
+    // ── Resilience ──
+
+    // the breaker rejects first, so an open circuit never takes a bulkhead permit
+    private <T> T call(String operation, Supplier<T> request) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String outcome = "success";
+        try {
+            return circuitBreaker.executeSupplier(() -> bulkhead.executeSupplier(request));
+        } catch (CallNotPermittedException e) {
+            outcome = "circuit-open";
+            throw new ResourceAccessException("Inventory Service circuit breaker is open");
+        } catch (BulkheadFullException e) {
+            outcome = "bulkhead-full";
+            throw new ResourceAccessException("Too many concurrent calls to the Inventory Service");
+        } catch (RuntimeException e) {
+            outcome = "error";
+            throw e;
+        } finally {
+            sample.stop(meterRegistry.timer(REQUESTS_METRIC, "operation", operation, "outcome", outcome));
+        }
+    }
 }
@@ -0,0 +1,151 @@
+package com.nsbm.group03.kitchenManagementService.client;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+
+import com.nsbm.group03.kitchenManagementService.dto.InventoryRequestDTO;
+import com.nsbm.group03.kitchenManagementService.entity.InventoryOutboxEvent;
+import com.nsbm.group03.kitchenManagementService.enums.OutboxStatus;
+import com.nsbm.group03.kitchenManagementService.repository.InventoryOutboxRepository;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Transactional outbox for inventory deductions.
+ * enqueue() stores the deduction in the caller's transaction, next to the kitchen order, so an order never
+ * waits on the Inventory Service and a deduction is never lost. dispatch() runs in the background: it claims
+ * due events in batches, sends each one outside any database transaction and records the outcome.
+ * Failed sends are retried with exponential backoff up to max-attempts, then left as FAILED for follow-up;
+ * each event keeps its idempotency key across attempts.
+ */
+@Component
+public class InventoryDeductionOutbox {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryDeductionOutbox.class);
+
+    private static final JsonMapper JSON = JsonMapper.builder().build();
+
+    private final InventoryOutboxRepository outboxRepository;
+    private final InventoryClient inventoryClient;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long backoffMillis;
+    private final long maxBackoffMillis;
+    private final long claimTimeoutMillis;
+
+    public InventoryDeductionOutbox(InventoryOutboxRepository outboxRepository,
+                                    InventoryClient inventoryClient,
+                                    @Value("${inventory.outbox.batch-size:50}") int batchSize,
+                                    @Value("${inventory.outbox.max-attempts:10}") int maxAttempts,
+                                    @Value("${inventory.outbox.backoff-ms:1000}") long backoffMillis,
+                                    @Value("${inventory.outbox.max-backoff-ms:300000}") long maxBackoffMillis,
+                                    @Value("${inventory.outbox.claim-timeout-ms:60000}") long claimTimeoutMillis) {
+        this.outboxRepository = outboxRepository;
+        this.inventoryClient = inventoryClient;
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.backoffMillis = backoffMillis;
+        this.maxBackoffMillis = maxBackoffMillis;
+        this.claimTimeoutMillis = claimTimeoutMillis;
+    }
+
+    /**
+     * Store a deduction for the given order; must be called inside the transaction that saves the order.
+     */
+    public InventoryOutboxEvent enqueue(Long orderId, List<InventoryRequestDTO> items) {
+        InventoryOutboxEvent event = new InventoryOutboxEvent(orderId, UUID.randomUUID().toString(),
+                JSON.writeValueAsString(items));
+        return outboxRepository.save(event);
+    }
+
+    /**
+     * Send every due deduction, a batch at a time; returns the number delivered.
+     */
+    @Scheduled(fixedDelayString = "${inventory.outbox.poll-ms:1000}")
+    public int dispatch() {
+        int delivered = 0;
+        List<InventoryOutboxEvent> due;
+        do {
+            LocalDateTime now = LocalDateTime.now();
+            due = outboxRepository.findDue(now, Limit.of(batchSize));
+            for (InventoryOutboxEvent event : due) {
+                // an unsent claim expires after claim-timeout-ms, so a crashed dispatcher's events are picked up again
+                LocalDateTime leaseUntil = now.plusNanos(claimTimeoutMillis * 1_000_000);
+                if (outboxRepository.claim(event.getId(), now, leaseUntil) == 0) {
+                    continue;
+                }
+                if (send(event)) {
+                    delivered++;
+                }
+            }
+        } while (due.size() == batchSize);
+        return delivered;
+    }
+
+    private boolean send(InventoryOutboxEvent event) {
+        event.setAttempts(event.getAttempts() + 1);
+        try {
+            List<InventoryRequestDTO> items = Arrays.asList(JSON.readValue(event.getPayload(), InventoryRequestDTO[].class));
+            inventoryClient.deductInventory(items, event.getIdempotencyKey());
+            event.setStatus(OutboxStatus.SENT);
+            event.setSentAt(LocalDateTime.now());
+            event.setLastError(null);
+            outboxRepository.save(event);
+            return true;
+        } catch (RestClientException e) {
+            fail(event, e, isRetryable(e));
+            return false;
+        } catch (JacksonException e) {
+            fail(event, e, false);
+            return false;
+        }
+    }
+
+    private void fail(InventoryOutboxEvent event, RuntimeException e, boolean retryable) {
+        String error = e.getMessage() != null && e.getMessage().length() > 500 ? e.getMessage().substring(0, 500) : e.getMessage();
+        event.setLastError(error);
+        if (!retryable || event.getAttempts() >= maxAttempts) {
+            event.setStatus(OutboxStatus.FAILED);
+            logger.error("Inventory deduction {} for order {} failed after {} attempt(s): {}",
+                    event.getIdempotencyKey(), event.getOrderId(), event.getAttempts(), error);
+        } else {
+            long delay = backoff(event.getAttempts());
+            event.setNextAttemptAt(LocalDateTime.now().plusNanos(delay * 1_000_000));
+            logger.warn("Inventory deduction {} for order {} failed (attempt {}), retrying in {} ms: {}",
+                    event.getIdempotencyKey(), event.getOrderId(), event.getAttempts(), delay, error);
+        }
+        outboxRepository.save(event);
+    }
+
+    // backoff-ms doubled per attempt up to max-backoff-ms, with jitter so retries of many events spread out
+    private long backoff(int attempts) {
+        long delay = backoffMillis << Math.min(attempts - 1, 30);
+        if (delay <= 0 || delay > maxBackoffMillis) {
+            delay = maxBackoffMillis;
+        }
+        return delay / 2 + ThreadLocalRandom.current().nextLong(delay / 2 + 1);
+    }
+
+    // a request the Inventory Service rejects would be rejected again; timeouts, throttling and
+    // a deduct endpoint that is not deployed yet (404) are worth retrying
+    private static boolean isRetryable(RestClientException e) {
+        if (e instanceof HttpClientErrorException clientError) {
+            int status = clientError.getStatusCode().value();
+            return status == 404 || status == 408 || status == 429;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,115 @@
+package com.nsbm.group03.kitchenManagementService.client;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.RestClientException;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.nsbm.group03.kitchenManagementService.dto.InventoryItemDTO;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+/**
+ * Read-through cache of Inventory Service items for the kitchen screens, which poll them.
+ * An entry is fresh for ttl-ms; after that it is still served while one background call refreshes it
+ * (stale-while-revalidate). Concurrent misses on the same key wait for a single upstream call.
+ * A failed refresh keeps the old entry, so while the Inventory Service is down the last known items
+ * are served, up to max-stale-ms after they were loaded; only with nothing cached is the result empty.
+ * Loading the full list also refreshes the per-item entries. Both caches are bounded and publish
+ * cache.* metrics as inventory.items and inventory.item.
+ */
+@Component
+public class InventoryItemCache implements MeterBinder {
+
+    private static final Logger logger = LoggerFactory.getLogger(InventoryItemCache.class);
+
+    private static final String ALL = "all";
+
+    private final InventoryClient inventoryClient;
+    private final LoadingCache<String, List<InventoryItemDTO>> allItems;
+    private final LoadingCache<Long, Optional<InventoryItemDTO>> items;
+
+    @Autowired
+    public InventoryItemCache(InventoryClient inventoryClient,
+                              @Value("${inventory.cache.ttl-ms:5000}") long ttlMillis,
+                              @Value("${inventory.cache.max-stale-ms:3600000}") long maxStaleMillis,
+                              @Value("${inventory.cache.max-items:1000}") long maxItems) {
+        this(inventoryClient, ttlMillis, maxStaleMillis, maxItems, Ticker.systemTicker(), ForkJoinPool.commonPool());
+    }
+
+    InventoryItemCache(InventoryClient inventoryClient, long ttlMillis, long maxStaleMillis, long maxItems,
+                       Ticker ticker, Executor refreshExecutor) {
+        this.inventoryClient = inventoryClient;
+        this.allItems = Caffeine.newBuilder()
+                .maximumSize(1)
+                .refreshAfterWrite(Duration.ofMillis(ttlMillis))
+                .expireAfterWrite(Duration.ofMillis(Math.max(ttlMillis, maxStaleMillis)))
+                .ticker(ticker)
+                .executor(refreshExecutor)
+                .recordStats()
+                .build(key -> loadAll());
+        this.items = Caffeine.newBuilder()
+                .maximumSize(maxItems)
+                .refreshAfterWrite(Duration.ofMillis(ttlMillis))
+                .expireAfterWrite(Duration.ofMillis(Math.max(ttlMillis, maxStaleMillis)))
+                .ticker(ticker)
+                .executor(refreshExecutor)
+                .recordStats()
+                .build(itemId -> Optional.ofNullable(inventoryClient.getInventoryItemById(itemId)));
+    }
+
+    /**
+     * All inventory items; empty only if the Inventory Service is unreachable and nothing is cached.
+     */
+    public List<InventoryItemDTO> getAllInventoryItems() {
+        try {
+            return allItems.get(ALL);
+        } catch (RestClientException | CompletionException e) {
+            logger.warn("Failed to fetch inventory items and none are cached: {}", e.getMessage());
+            return Collections.emptyList();
+        }
+    }
+
+    /**
+     * One inventory item; null if it does not exist, or if the Inventory Service is unreachable and it is not cached.
+     */
+    public InventoryItemDTO getInventoryItemById(Long itemId) {
+        try {
+            return items.get(itemId).orElse(null);
+        } catch (RestClientException | CompletionException e) {
+            logger.warn("Failed to fetch inventory item {} and it is not cached: {}", itemId, e.getMessage());
+            return null;
+        }
+    }
+
+    private List<InventoryItemDTO> loadAll() {
+        List<InventoryItemDTO> loaded = List.copyOf(inventoryClient.getAllInventoryItems());
+        for (InventoryItemDTO item : loaded) {
+            if (item.getId() != null) {
+                items.put(item.getId(), Optional.of(item));
+            }
+        }
+        return loaded;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, allItems, "inventory.items");
+        CaffeineCacheMetrics.monitor(registry, items, "inventory.item");
+    }
+}
@@ -0,0 +1,137 @@
+package com.nsbm.group03.kitchenManagementService.config;
+
+import java.time.Duration;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.httpcomponents.hc5.PoolingHttpClientConnectionManagerMetricsBinder;
+
+/**
+ * Dedicated HTTP client for the Inventory Service.
+ * Connections are pooled and kept alive, with a cap per route and in total; connecting, waiting for a
+ * pooled connection and waiting for a response are all time-bounded, so a slow Inventory Service cannot
+ * hold request threads indefinitely. InventoryClient wraps every call in the bulkhead (bounded concurrent
+ * calls) and the circuit breaker (stop calling while the service is failing or slow).
+ * Pool usage is published as httpcomponents.httpclient.pool.* with pool=inventory, the breaker and
+ * bulkhead as resilience4j.circuitbreaker.* / resilience4j.bulkhead.* with name=inventory.
+ */
+@Configuration
+public class InventoryHttpClientConfig {
+
+    public static final String INVENTORY = "inventory";
+
+    // ── Connection pool ──
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager inventoryConnectionManager(
+            MeterRegistry meterRegistry,
+            @Value("${inventory.http.max-connections:50}") int maxConnections,
+            @Value("${inventory.http.max-connections-per-route:20}") int maxConnectionsPerRoute,
+            @Value("${inventory.http.connect-timeout-ms:1000}") long connectTimeoutMillis,
+            @Value("${inventory.http.read-timeout-ms:3000}") long readTimeoutMillis,
+            @Value("${inventory.http.connection-ttl-ms:300000}") long connectionTtlMillis,
+            @Value("${inventory.http.validate-after-inactivity-ms:2000}") long validateAfterInactivityMillis) {
+        PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxConnections)
+                .setMaxConnPerRoute(maxConnectionsPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMillis))
+                        .setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMillis))
+                        .setTimeToLive(TimeValue.ofMilliseconds(connectionTtlMillis))
+                        .setValidateAfterInactivity(TimeValue.ofMilliseconds(validateAfterInactivityMillis))
+                        .build())
+                .build();
+        new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, INVENTORY).bindTo(meterRegistry);
+        return connectionManager;
+    }
+
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient inventoryHttpClient(
+            PoolingHttpClientConnectionManager inventoryConnectionManager,
+            @Value("${inventory.http.pool-timeout-ms:500}") long poolTimeoutMillis,
+            @Value("${inventory.http.read-timeout-ms:3000}") long readTimeoutMillis,
+            @Value("${inventory.http.idle-eviction-ms:30000}") long idleEvictionMillis) {
+        return HttpClients.custom()
+                .setConnectionManager(inventoryConnectionManager)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolTimeoutMillis))
+                        .setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMillis))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.ofMilliseconds(idleEvictionMillis))
+                // the outbox retries deductions itself, under the same idempotency key
+                .disableAutomaticRetries()
+                .build();
+    }
+
+    @Bean
+    public RestTemplate inventoryRestTemplate(@Qualifier("inventoryHttpClient") CloseableHttpClient inventoryHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(inventoryHttpClient));
+    }
+
+    // ── Bulkhead and circuit breaker ──
+
+    @Bean
+    public Bulkhead inventoryBulkhead(
+            MeterRegistry meterRegistry,
+            @Value("${inventory.http.bulkhead.max-concurrent-calls:20}") int maxConcurrentCalls,
+            @Value("${inventory.http.bulkhead.max-wait-ms:100}") long maxWaitMillis) {
+        BulkheadRegistry registry = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(maxConcurrentCalls)
+                .maxWaitDuration(Duration.ofMillis(maxWaitMillis))
+                .build());
+        TaggedBulkheadMetrics.ofBulkheadRegistry(registry).bindTo(meterRegistry);
+        return registry.bulkhead(INVENTORY);
+    }
+
+    @Bean
+    public CircuitBreaker inventoryCircuitBreaker(
+            MeterRegistry meterRegistry,
+            @Value("${inventory.http.circuit-breaker.failure-rate-threshold:50}") float failureRateThreshold,
+            @Value("${inventory.http.circuit-breaker.slow-call-ms:2000}") long slowCallMillis,
+            @Value("${inventory.http.circuit-breaker.window-size:20}") int windowSize,
+            @Value("${inventory.http.circuit-breaker.minimum-calls:10}") int minimumCalls,
+            @Value("${inventory.http.circuit-breaker.open-ms:10000}") long openMillis,
+            @Value("${inventory.http.circuit-breaker.half-open-calls:3}") int halfOpenCalls) {
+        CircuitBreakerRegistry registry = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(Duration.ofMillis(slowCallMillis))
+                .slidingWindowSize(windowSize)
+                .minimumNumberOfCalls(minimumCalls)
+                .waitDurationInOpenState(Duration.ofMillis(openMillis))
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                .automaticTransitionFromOpenToHalfOpenEnabled(true)
+                // timeouts, refused connections and 5xx mean the service is in trouble; a 4xx is an answer
+                .recordExceptions(ResourceAccessException.class, HttpServerErrorException.class)
+                .ignoreExceptions(BulkheadFullException.class)
+                .build());
+        TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(registry).bindTo(meterRegistry);
+        return registry.circuitBreaker(INVENTORY);
+    }
+}
@@ -0,0 +1,7 @@
+package com.nsbm.group03.kitchenManagementService.enums;
+
+public enum OutboxStatus {
+    PENDING,
+    SENT,
+    FAILED
+}
@@ -0,0 +1,33 @@
+package com.nsbm.group03.kitchenManagementService.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.nsbm.group03.kitchenManagementService.entity.InventoryOutboxEvent;
+import com.nsbm.group03.kitchenManagementService.enums.OutboxStatus;
+
+@Repository
+public interface InventoryOutboxRepository extends JpaRepository<InventoryOutboxEvent, Long> {
+
+    // ── Pending events whose next attempt is due, oldest first ──
+    @Query("SELECT e FROM InventoryOutboxEvent e WHERE e.status = 'PENDING' AND e.nextAttemptAt <= :now ORDER BY e.id")
+    List<InventoryOutboxEvent> findDue(@Param("now") LocalDateTime now, Limit limit);
+
+    // ── Claim a due event by pushing its next attempt out; 0 when another dispatcher got it first ──
+    @Modifying
+    @Transactional
+    @Query("UPDATE InventoryOutboxEvent e SET e.nextAttemptAt = :leaseUntil " +
+           "WHERE e.id = :id AND e.status = 'PENDING' AND e.nextAttemptAt <= :now")
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    // ── Count events by status (monitoring) ──
+    long countByStatus(OutboxStatus status);
+}
@@ -1,7 +1,11 @@
 package com.nsbm.group03.kitchenManagementService.service.impl;
 
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import org.slf4j.Logger;
@@ -9,7 +13,8 @@ import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import com.nsbm.group03.kitchenManagementService.client.InventoryClient;
+import com.nsbm.group03.kitchenManagementService.client.InventoryDeductionOutbox;
+import com.nsbm.group03.kitchenManagementService.client.InventoryItemCache;
 import com.nsbm.group03.kitchenManagementService.dto.InventoryItemDTO;
 import com.nsbm.group03.kitchenManagementService.dto.InventoryRequestDTO;
 import com.nsbm.group03.kitchenManagementService.dto.KitchenOrderDTO;
@@ -31,14 +36,17 @@ public class KitchenOrderServiceImpl implements KitchenOrderService {
 
     private final KitchenOrderRepository orderRepository;
     private final KitchenMenuItemRepository menuItemRepository;
-    private final InventoryClient inventoryClient;
+    private final InventoryItemCache inventoryItemCache;
+    private final InventoryDeductionOutbox inventoryOutbox;
 
     public KitchenOrderServiceImpl(KitchenOrderRepository orderRepository,
                                    KitchenMenuItemRepository menuItemRepository,
-                                   InventoryClient inventoryClient) {
+                                   InventoryItemCache inventoryItemCache,
+                                   InventoryDeductionOutbox inventoryOutbox) {
         this.orderRepository = orderRepository;
         this.menuItemRepository = menuItemRepository;
-        this.inventoryClient = inventoryClient;
+        this.inventoryItemCache = inventoryItemCache;
+        this.inventoryOutbox = inventoryOutbox;
     }
 
     // ══════════════════════════════════════
@@ -59,14 +67,9 @@ public class KitchenOrderServiceImpl implements KitchenOrderService {
         List<InventoryRequestDTO> inventoryRequests = new ArrayList<>();
 
         // Validate each item against the menu and build order items
+        Map<Long, KitchenMenuItem> menuItems = resolveMenuItems(dto.getOrderItems());
         for (KitchenOrderItemDTO itemDTO : dto.getOrderItems()) {
-            KitchenMenuItem menuItem = menuItemRepository.findById(itemDTO.getMenuItemId())
-                    .orElseThrow(() -> new ResourceNotFoundException("Menu Item", itemDTO.getMenuItemId()));
-
-            // Check availability
-            if (!menuItem.isAvailable()) {
-                throw new MenuItemNotAvailableException(menuItem.getId());
-            }
+            KitchenMenuItem menuItem = menuItems.get(itemDTO.getMenuItemId());
 
             KitchenOrderItem orderItem = new KitchenOrderItem();
             orderItem.setMenuItemId(menuItem.getId());
@@ -89,14 +92,42 @@ public class KitchenOrderServiceImpl implements KitchenOrderService {
         logger.info("Created kitchen order ID: {} with {} items, total: {}",
                 saved.getId(), saved.getOrderItems().size(), saved.getTotalAmount());
 
-        // Send inventory deduction request (non-blocking — order proceeds even if inventory service is down)
+        // Queue the inventory deduction in this transaction; InventoryDeductionOutbox delivers it in the background
         if (!inventoryRequests.isEmpty()) {
-            inventoryClient.deductInventory(inventoryRequests);
+            inventoryOutbox.enqueue(saved.getId(), inventoryRequests);
         }
 
         return mapToDTO(saved);
     }
 
+    /**
+     * Load the menu items of all order lines with one findAllById and check each line against the result,
+     * in line order: a missing item throws ResourceNotFoundException, an unavailable one
+     * MenuItemNotAvailableException. Pricing then reads from the returned map only.
+     */
+    private Map<Long, KitchenMenuItem> resolveMenuItems(List<KitchenOrderItemDTO> orderItems) {
+        Set<Long> ids = new LinkedHashSet<>();
+        for (KitchenOrderItemDTO itemDTO : orderItems) {
+            ids.add(itemDTO.getMenuItemId());
+        }
+
+        Map<Long, KitchenMenuItem> menuItems = new HashMap<>();
+        for (KitchenMenuItem menuItem : menuItemRepository.findAllById(ids)) {
+            menuItems.put(menuItem.getId(), menuItem);
+        }
+
+        for (Long id : ids) {
+            KitchenMenuItem menuItem = menuItems.get(id);
+            if (menuItem == null) {
+                throw new ResourceNotFoundException("Menu Item", id);
+            }
+            if (!menuItem.isAvailable()) {
+                throw new MenuItemNotAvailableException(menuItem.getId());
+            }
+        }
+        return menuItems;
+    }
+
     // ══════════════════════════════════════
     //  Get / List Orders
     // ══════════════════════════════════════
@@ -136,16 +167,12 @@ public class KitchenOrderServiceImpl implements KitchenOrderService {
 
         // Update order items if provided
         if (dto.getOrderItems() != null && !dto.getOrderItems().isEmpty()) {
+            Map<Long, KitchenMenuItem> menuItems = resolveMenuItems(dto.getOrderItems());
             existing.getOrderItems().clear();
             double totalAmount = 0.0;
 
             for (KitchenOrderItemDTO itemDTO : dto.getOrderItems()) {
-                KitchenMenuItem menuItem = menuItemRepository.findById(itemDTO.getMenuItemId())
-                        .orElseThrow(() -> new ResourceNotFoundException("Menu Item", itemDTO.getMenuItemId()));
-
-                if (!menuItem.isAvailable()) {
-                    throw new MenuItemNotAvailableException(menuItem.getId());
-                }
+                KitchenMenuItem menuItem = menuItems.get(itemDTO.getMenuItemId());
 
                 KitchenOrderItem orderItem = new KitchenOrderItem();
                 orderItem.setMenuItemId(menuItem.getId());
@@ -276,17 +303,17 @@ public class KitchenOrderServiceImpl implements KitchenOrderService {
     }
 
     // ══════════════════════════════════════
-    //  Inventory Integration (read from Inventory Service)
+    //  Inventory Integration (read from Inventory Service, through the cache)
     // ══════════════════════════════════════
 
     @Override
     public List<InventoryItemDTO> getInventoryItems() {
-        return inventoryClient.getAllInventoryItems();
+        return inventoryItemCache.getAllInventoryItems();
     }
 
     @Override
     public InventoryItemDTO getInventoryItemById(Long itemId) {
-        InventoryItemDTO item = inventoryClient.getInventoryItemById(itemId);
+        InventoryItemDTO item = inventoryItemCache.getInventoryItemById(itemId);
         if (item == null) {
             throw new ResourceNotFoundException("Inventory Item", itemId);
         }
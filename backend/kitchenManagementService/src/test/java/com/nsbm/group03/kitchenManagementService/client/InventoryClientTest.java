@@ -0,0 +1,187 @@
+package com.nsbm.group03.kitchenManagementService.client;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+
+import com.nsbm.group03.kitchenManagementService.config.InventoryHttpClientConfig;
+import com.nsbm.group03.kitchenManagementService.dto.InventoryItemDTO;
+import com.nsbm.group03.kitchenManagementService.dto.InventoryRequestDTO;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * InventoryClient against a stub Inventory Service: slow responses are cut off by the read timeout,
+ * a failing service opens the circuit, excess concurrent calls are turned away by the bulkhead,
+ * and pool usage and call latency show up as metrics.
+ */
+class InventoryClientTest {
+
+    private final InventoryHttpClientConfig config = new InventoryHttpClientConfig();
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger received = new AtomicInteger();
+
+    private HttpServer server;
+    private volatile int status = 200;
+    private volatile long delayMillis;
+    // when set, the stub holds every response until the test releases it
+    private volatile CountDownLatch release;
+    private final CountDownLatch arrived = new CountDownLatch(1);
+
+    private PoolingHttpClientConnectionManager connectionManager;
+    private CloseableHttpClient httpClient;
+    private InventoryClient client;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.setExecutor(Executors.newCachedThreadPool());
+        server.createContext("/api/inventory", this::respond);
+        server.start();
+        client = newClient(300);
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        if (release != null) {
+            release.countDown();
+        }
+        httpClient.close();
+        server.stop(0);
+    }
+
+    private InventoryClient newClient(long readTimeoutMillis) throws IOException {
+        if (httpClient != null) {
+            httpClient.close();
+        }
+        connectionManager = config.inventoryConnectionManager(meterRegistry, 10, 5, 500, readTimeoutMillis, 60000, 2000);
+        httpClient = config.inventoryHttpClient(connectionManager, 200, readTimeoutMillis, 30000);
+        InventoryClient inventoryClient = new InventoryClient(config.inventoryRestTemplate(httpClient),
+                config.inventoryCircuitBreaker(meterRegistry, 50, 2000, 4, 4, 60000, 1),
+                config.inventoryBulkhead(meterRegistry, 1, 0),
+                meterRegistry);
+        ReflectionTestUtils.setField(inventoryClient, "inventoryServiceUrl", "http://127.0.0.1:" + server.getAddress().getPort());
+        return inventoryClient;
+    }
+
+    @Test
+    void testSlowInventory_CallIsCutOffByReadTimeout() {
+        delayMillis = 2000;
+
+        long started = System.nanoTime();
+        assertThrows(ResourceAccessException.class, () -> client.getInventoryItemById(1L));
+        long elapsedMillis = (System.nanoTime() - started) / 1_000_000;
+
+        assertTrue(elapsedMillis < 1500, "took " + elapsedMillis + " ms");
+        assertEquals(1, meterRegistry.get("inventory.client.requests")
+                .tags("operation", "get", "outcome", "error").timer().count());
+    }
+
+    @Test
+    void testFailingInventory_OpensCircuit() {
+        status = 500;
+        for (int i = 0; i < 4; i++) {
+            assertThrows(HttpServerErrorException.class, () -> client.getInventoryItemById(1L));
+        }
+        assertEquals(4, received.get());
+
+        ResourceAccessException rejected = assertThrows(ResourceAccessException.class,
+                () -> client.deductInventory(List.of(new InventoryRequestDTO("Rice", 1)), "key-1"));
+        assertTrue(rejected.getMessage().contains("circuit breaker is open"));
+        assertEquals(4, received.get(), "no request reaches the service while the circuit is open");
+        assertEquals(1, meterRegistry.get("inventory.client.requests")
+                .tags("operation", "deduct", "outcome", "circuit-open").timer().count());
+    }
+
+    @Test
+    void testClientErrors_DoNotOpenCircuit() {
+        status = 404;
+        for (int i = 0; i < 6; i++) {
+            assertNull(client.getInventoryItemById(1L));
+        }
+        assertEquals(6, received.get());
+    }
+
+    @Test
+    void testBusyInventory_BulkheadTurnsAwayExtraCalls() throws Exception {
+        // the admitted call is held by the stub, not by a sleep, so no read timeout can race the check
+        client = newClient(30000);
+        release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        Future<InventoryItemDTO> first = pool.submit(() -> client.getInventoryItemById(1L));
+        assertTrue(arrived.await(5, TimeUnit.SECONDS), "the first call reaches the service");
+
+        for (int i = 0; i < 3; i++) {
+            ResourceAccessException rejected = assertThrows(ResourceAccessException.class,
+                    () -> client.deductInventory(List.of(new InventoryRequestDTO("Rice", 1)), "key-2"));
+            assertTrue(rejected.getMessage().contains("Too many concurrent calls"));
+        }
+        assertEquals(1, received.get(), "rejected calls never reach the service");
+        assertEquals(3, meterRegistry.get("inventory.client.requests")
+                .tags("operation", "deduct", "outcome", "bulkhead-full").timer().count());
+
+        release.countDown();
+        assertNotNull(first.get(5, TimeUnit.SECONDS));
+        pool.shutdown();
+        assertEquals(1, meterRegistry.get("inventory.client.requests")
+                .tags("operation", "get", "outcome", "success").timer().count());
+    }
+
+    @Test
+    void testMetrics_PublishPoolUsageAndLatency() {
+        assertNotNull(client.getInventoryItemById(1L));
+
+        assertEquals(10, meterRegistry.get("httpcomponents.httpclient.pool.total.max")
+                .tag("httpclient", "inventory").gauge().value());
+        assertEquals(1, meterRegistry.get("httpcomponents.httpclient.pool.total.connections")
+                .tags("httpclient", "inventory", "state", "available").gauge().value(),
+                "the connection is kept alive for the next call");
+        assertEquals(1, meterRegistry.get("inventory.client.requests")
+                .tags("operation", "get", "outcome", "success").timer().count());
+        assertNotNull(meterRegistry.find("resilience4j.circuitbreaker.state").tag("name", "inventory").gauge());
+        assertNotNull(meterRegistry.find("resilience4j.bulkhead.available.concurrent.calls").tag("name", "inventory").gauge());
+    }
+
+    private void respond(HttpExchange exchange) throws IOException {
+        received.incrementAndGet();
+        arrived.countDown();
+        try {
+            CountDownLatch held = release;
+            if (held != null) {
+                held.await(10, TimeUnit.SECONDS);
+            }
+            if (delayMillis > 0) {
+                Thread.sleep(delayMillis);
+            }
+            byte[] body = "{\"id\":1,\"name\":\"Rice\",\"category\":\"Dry goods\",\"quantity\":10,\"lowStock\":2}"
+                    .getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", "application/json");
+            exchange.sendResponseHeaders(status, body.length);
+            exchange.getResponseBody().write(body);
+        } catch (InterruptedException | IOException e) {
+            // the client gave up on this response
+        } finally {
+            exchange.close();
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.nsbm.group03.kitchenManagementService.client;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import com.nsbm.group03.kitchenManagementService.dto.InventoryRequestDTO;
+import com.nsbm.group03.kitchenManagementService.dto.KitchenOrderDTO;
+import com.nsbm.group03.kitchenManagementService.dto.KitchenOrderItemDTO;
+import com.nsbm.group03.kitchenManagementService.entity.InventoryOutboxEvent;
+import com.nsbm.group03.kitchenManagementService.entity.KitchenMenuItem;
+import com.nsbm.group03.kitchenManagementService.enums.MealType;
+import com.nsbm.group03.kitchenManagementService.enums.OutboxStatus;
+import com.nsbm.group03.kitchenManagementService.enums.ServiceType;
+import com.nsbm.group03.kitchenManagementService.repository.InventoryOutboxRepository;
+import com.nsbm.group03.kitchenManagementService.repository.KitchenMenuItemRepository;
+import com.nsbm.group03.kitchenManagementService.service.KitchenOrderService;
+import com.nsbm.group03.kitchenManagementService.service.impl.KitchenOrderServiceImpl;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Orders queue their deduction in the outbox without calling the Inventory Service; the dispatcher
+ * delivers it later, retrying transient failures under the same idempotency key.
+ */
+@DataJpaTest
+@Import({KitchenOrderServiceImpl.class, InventoryDeductionOutbox.class, InventoryItemCache.class,
+        InventoryDeductionOutboxTest.ScriptedInventory.class})
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+class InventoryDeductionOutboxTest {
+
+    @Autowired
+    private KitchenOrderService orderService;
+
+    @Autowired
+    private InventoryDeductionOutbox outbox;
+
+    @Autowired
+    private InventoryOutboxRepository outboxRepository;
+
+    @Autowired
+    private KitchenMenuItemRepository menuItemRepository;
+
+    @Autowired
+    private ScriptedInventoryClient inventoryClient;
+
+    private Long orderId;
+
+    @BeforeEach
+    void setUp() {
+        inventoryClient.calls.clear();
+        inventoryClient.failures.clear();
+
+        KitchenMenuItem item = new KitchenMenuItem();
+        item.setItemName("Rice");
+        item.setCategory("Main");
+        item.setPrice(500.0);
+        item.setAvailable(true);
+        item.setMealType(MealType.LUNCH);
+        item.setServiceType(ServiceType.RESTAURANT);
+        item.setMenuDate(LocalDate.now());
+        item.setRestaurantId(1L);
+        Long menuItemId = menuItemRepository.save(item).getId();
+
+        KitchenOrderDTO dto = new KitchenOrderDTO();
+        dto.setRestaurantId(1L);
+        dto.setOrderItems(List.of(new KitchenOrderItemDTO(null, menuItemId, null, 3, null, null)));
+        orderId = orderService.createOrder(dto).getId();
+    }
+
+    @Test
+    void testCreateOrder_QueuesDeductionWithoutCallingInventory() {
+        assertTrue(inventoryClient.calls.isEmpty());
+        InventoryOutboxEvent event = onlyEvent();
+        assertEquals(orderId, event.getOrderId());
+        assertEquals(OutboxStatus.PENDING, event.getStatus());
+        assertTrue(event.getPayload().contains("\"itemName\":\"Rice\""));
+        assertTrue(event.getPayload().contains("\"quantity\":3"));
+    }
+
+    @Test
+    void testDispatch_RetriesTransientFailureWithSameKey() {
+        inventoryClient.failures.add(new ResourceAccessException("Connection refused"));
+
+        assertEquals(0, outbox.dispatch());
+        InventoryOutboxEvent event = onlyEvent();
+        assertEquals(OutboxStatus.PENDING, event.getStatus());
+        assertEquals(1, event.getAttempts());
+        assertTrue(event.getNextAttemptAt().isAfter(LocalDateTime.now()));
+        assertEquals(0, outbox.dispatch(), "not due again before its backoff");
+
+        event.setNextAttemptAt(LocalDateTime.now().minusSeconds(1));
+        outboxRepository.save(event);
+        assertEquals(1, outbox.dispatch());
+
+        event = onlyEvent();
+        assertEquals(OutboxStatus.SENT, event.getStatus());
+        assertEquals(2, event.getAttempts());
+        assertEquals(List.of(event.getIdempotencyKey(), event.getIdempotencyKey()), inventoryClient.calls);
+    }
+
+    @Test
+    void testDispatch_RejectedDeductionIsNotRetried() {
+        inventoryClient.failures.add(new HttpClientErrorException(HttpStatus.BAD_REQUEST));
+
+        assertEquals(0, outbox.dispatch());
+        InventoryOutboxEvent event = onlyEvent();
+        assertEquals(OutboxStatus.FAILED, event.getStatus());
+        assertNotNull(event.getLastError());
+    }
+
+    private InventoryOutboxEvent onlyEvent() {
+        List<InventoryOutboxEvent> events = outboxRepository.findAll();
+        assertEquals(1, events.size());
+        return events.get(0);
+    }
+
+    static class ScriptedInventoryClient extends InventoryClient {
+
+        final List<String> calls = new ArrayList<>();
+        final List<RestClientException> failures = new ArrayList<>();
+
+        ScriptedInventoryClient() {
+            super(new RestTemplate(), CircuitBreaker.ofDefaults("inventory"), Bulkhead.ofDefaults("inventory"),
+                    new SimpleMeterRegistry());
+        }
+
+        @Override
+        public void deductInventory(List<InventoryRequestDTO> items, String idempotencyKey) {
+            calls.add(idempotencyKey);
+            if (!failures.isEmpty()) {
+                throw failures.remove(0);
+            }
+        }
+    }
+
+    @TestConfiguration
+    static class ScriptedInventory {
+
+        @Bean
+        ScriptedInventoryClient inventoryClient() {
+            return new ScriptedInventoryClient();
+        }
+    }
+}
@@ -0,0 +1,179 @@
+package com.nsbm.group03.kitchenManagementService.client;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.client.RestTemplate;
+
+import com.nsbm.group03.kitchenManagementService.dto.InventoryItemDTO;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * InventoryItemCache over a scripted Inventory Service: concurrent misses share one call, expired
+ * entries are served while they are refreshed, and the last known items are served while it is down.
+ */
+class InventoryItemCacheTest {
+
+    private static final long TTL_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private final AtomicLong now = new AtomicLong();
+    // background refreshes wait here until the test runs them
+    private final Queue<Runnable> refreshes = new ConcurrentLinkedQueue<>();
+    private final ScriptedInventoryClient inventory = new ScriptedInventoryClient();
+    private final InventoryItemCache cache =
+            new InventoryItemCache(inventory, 5_000, 60_000, 100, now::get, refreshes::add);
+
+    @Test
+    void testConcurrentMisses_MakeOneUpstreamCall() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        inventory.gate = release;
+
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<List<InventoryItemDTO>>> readers = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            readers.add(pool.submit(cache::getAllInventoryItems));
+        }
+        while (inventory.listCalls.get() == 0) {
+            Thread.sleep(5);
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        for (Future<List<InventoryItemDTO>> reader : readers) {
+            assertEquals(2, reader.get(5, TimeUnit.SECONDS).size());
+        }
+        pool.shutdown();
+        assertEquals(1, inventory.listCalls.get());
+    }
+
+    @Test
+    void testExpiredEntry_ServedWhileRefreshed() {
+        assertEquals(10, cache.getInventoryItemById(1L).getQuantity());
+
+        inventory.quantity = 7;
+        now.addAndGet(TTL_NANOS / 2);
+        assertEquals(10, cache.getInventoryItemById(1L).getQuantity(), "fresh within the ttl");
+        assertEquals(1, inventory.itemCalls.get());
+
+        now.addAndGet(TTL_NANOS);
+        assertEquals(10, cache.getInventoryItemById(1L).getQuantity(), "stale value while refreshing");
+        assertEquals(10, cache.getInventoryItemById(1L).getQuantity());
+        assertEquals(1, inventory.itemCalls.get());
+        runRefreshes();
+        assertEquals(7, cache.getInventoryItemById(1L).getQuantity());
+        assertEquals(2, inventory.itemCalls.get(), "one refresh for both stale reads");
+    }
+
+    @Test
+    void testInventoryDown_ServesLastKnownItems() {
+        assertEquals(2, cache.getAllInventoryItems().size());
+        inventory.down = true;
+        now.addAndGet(TTL_NANOS * 3);
+
+        assertEquals(2, cache.getAllInventoryItems().size());
+        assertEquals("Rice", cache.getInventoryItemById(1L).getName(), "the list load filled the item entries");
+        runRefreshes();
+        assertEquals(2, cache.getAllInventoryItems().size(), "a failed refresh keeps the entry");
+        assertEquals("Rice", cache.getInventoryItemById(1L).getName());
+        assertEquals(1, inventory.itemCalls.get());
+
+        inventory.down = false;
+        inventory.quantity = 4;
+        runRefreshes();
+        assertEquals(4, cache.getAllInventoryItems().get(0).getQuantity(), "recovers once the service is back");
+    }
+
+    @Test
+    void testInventoryDown_NothingUsableCached() {
+        inventory.down = true;
+        assertTrue(cache.getAllInventoryItems().isEmpty());
+        assertNull(cache.getInventoryItemById(1L));
+
+        inventory.down = false;
+        assertEquals(2, cache.getAllInventoryItems().size());
+        inventory.down = true;
+        now.addAndGet(TimeUnit.SECONDS.toNanos(61));
+        assertTrue(cache.getAllInventoryItems().isEmpty(), "not served beyond max-stale");
+    }
+
+    @Test
+    void testUnknownItem_IsNull() {
+        assertNull(cache.getInventoryItemById(99L));
+        assertNull(cache.getInventoryItemById(99L));
+        assertEquals(1, inventory.itemCalls.get());
+    }
+
+    private void runRefreshes() {
+        Runnable refresh;
+        while ((refresh = refreshes.poll()) != null) {
+            refresh.run();
+        }
+    }
+
+    static class ScriptedInventoryClient extends InventoryClient {
+
+        final AtomicInteger listCalls = new AtomicInteger();
+        final AtomicInteger itemCalls = new AtomicInteger();
+        volatile CountDownLatch gate;
+        volatile boolean down;
+        volatile int quantity = 10;
+
+        ScriptedInventoryClient() {
+            super(new RestTemplate(), CircuitBreaker.ofDefaults("inventory"), Bulkhead.ofDefaults("inventory"),
+                    new SimpleMeterRegistry());
+        }
+
+        @Override
+        public List<InventoryItemDTO> getAllInventoryItems() {
+            listCalls.incrementAndGet();
+            await();
+            return List.of(item(1L, "Rice"), item(2L, "Eggs"));
+        }
+
+        @Override
+        public InventoryItemDTO getInventoryItemById(Long itemId) {
+            itemCalls.incrementAndGet();
+            await();
+            return itemId == 1L ? item(1L, "Rice") : itemId == 2L ? item(2L, "Eggs") : null;
+        }
+
+        private void await() {
+            try {
+                if (gate != null) {
+                    gate.await(5, TimeUnit.SECONDS);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            if (down) {
+                throw new ResourceAccessException("Connection refused");
+            }
+        }
+
+        private InventoryItemDTO item(Long id, String name) {
+            InventoryItemDTO item = new InventoryItemDTO();
+            item.setId(id);
+            item.setName(name);
+            item.setCategory("Dry goods");
+            item.setQuantity(quantity);
+            item.setLowStock(2);
+            return item;
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.nsbm.group03.kitchenManagementService.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.web.client.RestTemplate;
+
+import com.nsbm.group03.kitchenManagementService.client.InventoryClient;
+import com.nsbm.group03.kitchenManagementService.client.InventoryDeductionOutbox;
+import com.nsbm.group03.kitchenManagementService.client.InventoryItemCache;
+import com.nsbm.group03.kitchenManagementService.dto.KitchenOrderDTO;
+import com.nsbm.group03.kitchenManagementService.dto.KitchenOrderItemDTO;
+import com.nsbm.group03.kitchenManagementService.entity.KitchenMenuItem;
+import com.nsbm.group03.kitchenManagementService.enums.MealType;
+import com.nsbm.group03.kitchenManagementService.enums.ServiceType;
+import com.nsbm.group03.kitchenManagementService.repository.KitchenMenuItemRepository;
+import com.nsbm.group03.kitchenManagementService.service.impl.KitchenOrderServiceImpl;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import jakarta.persistence.EntityManager;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * createOrder latency as the number of order lines grows, on an in-memory H2 database.
+ * Menu items are resolved with one query whatever the line count, so only the line inserts scale.
+ * Opt-in: mvn test -Dtest=KitchenOrderCreateBenchmarkTest -Dkitchen.benchmark=true
+ */
+@DataJpaTest
+@Import({KitchenOrderServiceImpl.class, InventoryDeductionOutbox.class, InventoryItemCache.class,
+        KitchenOrderCreateBenchmarkTest.NoInventory.class})
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.show-sql=false",
+        "logging.level.org.hibernate.SQL=WARN",
+        "logging.level.org.hibernate.type.descriptor.sql.BasicBinder=WARN"
+})
+@EnabledIfSystemProperty(named = "kitchen.benchmark", matches = "true")
+class KitchenOrderCreateBenchmarkTest {
+
+    private static final int[] LINE_COUNTS = {1, 3, 6, 12, 24};
+
+    @Autowired
+    private KitchenOrderService orderService;
+
+    @Autowired
+    private KitchenMenuItemRepository menuItemRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Test
+    void benchmarkCreateOrderByLineCount() {
+        int orders = Integer.getInteger("kitchen.benchmark.orders", 500);
+        List<Long> menuItemIds = new ArrayList<>();
+        for (int i = 0; i < 24; i++) {
+            KitchenMenuItem item = new KitchenMenuItem();
+            item.setItemName("Dish " + i);
+            item.setCategory("Main");
+            item.setPrice(1000.0 + i);
+            item.setAvailable(true);
+            item.setMealType(MealType.DINNER);
+            item.setServiceType(ServiceType.RESTAURANT);
+            item.setMenuDate(LocalDate.now());
+            item.setRestaurantId(1L);
+            menuItemIds.add(menuItemRepository.save(item).getId());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+
+        for (int lines : LINE_COUNTS) {
+            KitchenOrderDTO dto = order(menuItemIds.subList(0, lines));
+            // warm-up
+            for (int i = 0; i < 50; i++) {
+                orderService.createOrder(dto);
+                entityManager.clear();
+            }
+
+            statistics.clear();
+            long started = System.nanoTime();
+            for (int i = 0; i < orders; i++) {
+                orderService.createOrder(dto);
+                entityManager.clear();
+            }
+            double micros = (System.nanoTime() - started) / 1000.0 / orders;
+            // one order insert, one per line and one outbox insert; everything else is the menu item lookup
+            long lookups = statistics.getPrepareStatementCount() / orders - 2 - lines;
+            System.out.printf("[Benchmark] %2d lines: %8.1f us per order, %d menu lookup statement(s) per order%n",
+                    lines, micros, lookups);
+            assertEquals(1, lookups);
+        }
+    }
+
+    private static KitchenOrderDTO order(List<Long> menuItemIds) {
+        KitchenOrderDTO dto = new KitchenOrderDTO();
+        dto.setRestaurantId(1L);
+        dto.setTableNumber("T1");
+        List<KitchenOrderItemDTO> items = new ArrayList<>();
+        for (Long id : menuItemIds) {
+            items.add(new KitchenOrderItemDTO(null, id, null, 2, null, null));
+        }
+        dto.setOrderItems(items);
+        return dto;
+    }
+
+    @TestConfiguration
+    static class NoInventory {
+
+        // deductions only reach the outbox table here, the client is never called
+        @Bean
+        InventoryClient inventoryClient() {
+            return new InventoryClient(new RestTemplate(), CircuitBreaker.ofDefaults("inventory"),
+                    Bulkhead.ofDefaults("inventory"), new SimpleMeterRegistry());
+        }
+    }
+}
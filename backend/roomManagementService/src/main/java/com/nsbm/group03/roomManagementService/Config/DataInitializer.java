@@ -1,103 +1,125 @@
 package com.nsbm.group03.roomManagementService.Config;
 
-import java.util.UUID;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
 
-import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.annotation.Profile;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Component;
 import org.springframework.dao.DataIntegrityViolationException;
-import org.springframework.orm.ObjectOptimisticLockingFailureException;
 
+import com.nsbm.group03.roomManagementService.Dto.HistoryGenerationResult;
 import com.nsbm.group03.roomManagementService.Entity.Room;
 import com.nsbm.group03.roomManagementService.Entity.RoomTypeEntity;
 import com.nsbm.group03.roomManagementService.Enum.RoomType;
 import com.nsbm.group03.roomManagementService.Repository.RoomTypeRepository;
 import com.nsbm.group03.roomManagementService.Service.RoomService;
+import com.nsbm.group03.roomManagementService.Service.RoomTypeService;
 
 /**
- * Populates the database with initial room types and a set of rooms.  
- * Uses createRoomWithHistory so histories are generated automatically.
- * The runner is idempotent - repeated starts will not insert duplicates.
+ * Populates the database with initial room types and a set of rooms.
+ * Runs once the application is ready, so it does not delay startup, and not at all under the
+ * "no-seed" profile. The desired rooms are diffed against one findAll; missing room types, rooms
+ * and their 30 day histories are inserted in batches.
+ * The seeder is idempotent - repeated starts will not insert duplicates.
  */
 @Component
-public class DataInitializer implements CommandLineRunner {
+@Profile("!no-seed")
+public class DataInitializer {
+
+    private static final int ROOMS_PER_TYPE = 10;
+    private static final int HISTORY_DAYS = 30;
 
     private final RoomTypeRepository typeRepo;
     private final RoomService roomService;
+    private final RoomTypeService roomTypeService;
 
-    public DataInitializer(RoomTypeRepository typeRepo, RoomService roomService) {
+    public DataInitializer(RoomTypeRepository typeRepo, RoomService roomService, RoomTypeService roomTypeService) {
         this.typeRepo = typeRepo;
         this.roomService = roomService;
+        this.roomTypeService = roomTypeService;
     }
 
-    @Override
-    public void run(String... args) throws Exception {
-        // Create three room types with fixed UUIDs for idempotency
-        
-        // SINGLE room type
-        RoomTypeEntity singleType = typeRepo.findByRoomType(RoomType.SINGLE);
-        if (singleType == null) {
-            try {
-                singleType = new RoomTypeEntity("room-type-single", RoomType.SINGLE, 5000.0, "/Upload/Single.jpg");
-                typeRepo.saveAndFlush(singleType);
-            } catch (DataIntegrityViolationException | ObjectOptimisticLockingFailureException e) {
-                // already exists, fetch it again
-                singleType = typeRepo.findByRoomType(RoomType.SINGLE);
-            }
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        long started = System.currentTimeMillis();
+        try {
+            int types = seedRoomTypes();
+            List<Room> created = seedRooms();
+
+            // one bulk pass generates the 30 day history for every new room
+            HistoryGenerationResult result = roomService.generateHistoryForRooms(created, HISTORY_DAYS);
+            System.out.println("[Seed] inserted " + types + " room types, " + created.size() + " rooms, "
+                    + result.getRowsGenerated() + " history rows in " + (System.currentTimeMillis() - started) + " ms");
+        } catch (DataIntegrityViolationException e) {
+            // another instance seeded the same rows first
+            System.out.println("[Seed] skipped, sample data is being inserted elsewhere: " + e.getMostSpecificCause().getMessage());
         }
+    }
 
-        // DOUBLE room type
-        RoomTypeEntity doubleType = typeRepo.findByRoomType(RoomType.DOUBLE);
-        if (doubleType == null) {
-            try {
-                doubleType = new RoomTypeEntity("room-type-double", RoomType.DOUBLE, 8000.0, "/Upload/Double.jpg");
-                typeRepo.saveAndFlush(doubleType);
-            } catch (DataIntegrityViolationException | ObjectOptimisticLockingFailureException e) {
-                // already exists, fetch it again
-                doubleType = typeRepo.findByRoomType(RoomType.DOUBLE);
-            }
+    private int seedRoomTypes() {
+        Set<RoomType> missing = EnumSet.allOf(RoomType.class);
+        for (RoomTypeEntity existing : typeRepo.findAll()) {
+            missing.remove(existing.getRoomType());
+        }
+        if (missing.isEmpty()) {
+            return 0;
         }
 
-        // DELUXE room type
-        RoomTypeEntity deluxeType = typeRepo.findByRoomType(RoomType.DELUXE);
-        if (deluxeType == null) {
-            try {
-                deluxeType = new RoomTypeEntity("room-type-deluxe", RoomType.DELUXE, 12000.0, "/Upload/Deluxe.jpg");
-                typeRepo.saveAndFlush(deluxeType);
-            } catch (DataIntegrityViolationException | ObjectOptimisticLockingFailureException e) {
-                // already exists, fetch it again
-                deluxeType = typeRepo.findByRoomType(RoomType.DELUXE);
-            }
+        List<RoomTypeEntity> types = new ArrayList<>();
+        for (RoomType type : missing) {
+            types.add(new RoomTypeEntity(null, type, pricePerNight(type), imagePath(type)));
         }
+        typeRepo.saveAllAndFlush(types);
+        roomTypeService.refresh();
+        return types.size();
+    }
 
-        // Generate 10 rooms of each type if they don't already exist
-        for (RoomType type : RoomType.values()) {
-            for (int i = 1; i <= 10; i++) {
-                String roomNumber;
-                switch (type) {
-                    case SINGLE: roomNumber = "1" + String.format("%02d", i); break;
-                    case DOUBLE: roomNumber = "2" + String.format("%02d", i); break;
-                    case DELUXE: roomNumber = "3" + String.format("%02d", i); break;
-                    default: roomNumber = "x" + i;
-                }
+    private List<Room> seedRooms() {
+        Set<String> existing = new HashSet<>();
+        for (Room room : roomService.getAllRooms()) {
+            existing.add(room.getRoomNumber());
+        }
 
-                // Skip if room already exists
-                if (roomService.getRoomByNumber(roomNumber) != null) {
+        // 10 rooms of each type: 101-110 SINGLE, 201-210 DOUBLE, 301-310 DELUXE
+        List<Room> missing = new ArrayList<>();
+        for (RoomType type : RoomType.values()) {
+            for (int i = 1; i <= ROOMS_PER_TYPE; i++) {
+                String roomNumber = floor(type) + String.format("%02d", i);
+                if (existing.contains(roomNumber)) {
                     continue;
                 }
 
                 Room room = new Room();
-                room.setRoomId(UUID.randomUUID().toString());
                 room.setRoomNumber(roomNumber);
                 room.setRoomType(type);
-                room.setPricePerNight(type == RoomType.SINGLE ? 5000.0
-                        : type == RoomType.DOUBLE ? 8000.0 : 12000.0);
+                room.setPricePerNight(pricePerNight(type));
                 room.setCapacity(type == RoomType.SINGLE ? 1 : 2);
                 room.setStatus(null); // will default to AVAILABLE
-
-                roomService.createRoomWithHistory(room);
+                missing.add(room);
             }
         }
+        return missing.isEmpty() ? missing : roomService.insertRooms(missing);
+    }
+
+    private static int floor(RoomType type) {
+        return switch (type) {
+            case SINGLE -> 1;
+            case DOUBLE -> 2;
+            case DELUXE -> 3;
+        };
+    }
+
+    private static double pricePerNight(RoomType type) {
+        return type == RoomType.SINGLE ? 5000.0 : type == RoomType.DOUBLE ? 8000.0 : 12000.0;
+    }
 
-        System.out.println("Sample data initialization complete.");
+    private static String imagePath(RoomType type) {
+        return type == RoomType.SINGLE ? "/Upload/Single.jpg"
+                : type == RoomType.DOUBLE ? "/Upload/Double.jpg" : "/Upload/Deluxe.jpg";
     }
 }
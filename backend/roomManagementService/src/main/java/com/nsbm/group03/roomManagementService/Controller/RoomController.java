@@ -2,40 +2,62 @@ package com.nsbm.group03.roomManagementService.Controller;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.nio.file.Files;
-import java.nio.file.Path;
-import java.nio.file.Paths;
+import java.util.concurrent.TimeUnit;
+import java.io.BufferedOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
 import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
 import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import com.nsbm.group03.roomManagementService.Dto.BulkStatusUpdateDTO;
+import com.nsbm.group03.roomManagementService.Dto.BulkStatusUpdateResultDTO;
+import com.nsbm.group03.roomManagementService.Dto.OccupancyDTO;
 import com.nsbm.group03.roomManagementService.Dto.RoomAvailabilityDTO;
 import com.nsbm.group03.roomManagementService.Dto.RoomCountDTO;
 import com.nsbm.group03.roomManagementService.Dto.RoomCreateDTO;
 import com.nsbm.group03.roomManagementService.Dto.RoomDTO;
 import com.nsbm.group03.roomManagementService.Dto.RoomStatusHistoryDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusSnapshotDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusTransitionDTO;
 import com.nsbm.group03.roomManagementService.Dto.RoomStatusUpdateDTO;
 import com.nsbm.group03.roomManagementService.Dto.RoomTypeSummaryDTO;
 import com.nsbm.group03.roomManagementService.Dto.StatisticsDTO;
 import com.nsbm.group03.roomManagementService.Dto.StatisticsByTypeDTO;
+import com.nsbm.group03.roomManagementService.Dto.StatusHistoryPageDTO;
 import com.nsbm.group03.roomManagementService.Entity.Room;
 import com.nsbm.group03.roomManagementService.Entity.RoomStatusHistory;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Enum.ImageVariant;
+import com.nsbm.group03.roomManagementService.Enum.OccupancyGroupBy;
 import com.nsbm.group03.roomManagementService.Enum.RoomType;
+import com.nsbm.group03.roomManagementService.Exception.RoomStatusConflictException;
 import com.nsbm.group03.roomManagementService.Mapper.RoomMapper;
+import com.nsbm.group03.roomManagementService.Service.RoomEventBroadcaster;
+import com.nsbm.group03.roomManagementService.Service.RoomImageService;
+import com.nsbm.group03.roomManagementService.Service.RoomImageVariantService;
 import com.nsbm.group03.roomManagementService.Service.RoomService;
 
 import io.swagger.v3.oas.annotations.Operation;
@@ -44,6 +66,7 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import tools.jackson.databind.json.JsonMapper;
 
 @Tag(
     name = "Room Management Service",
@@ -57,6 +80,18 @@ public class RoomController {
     @Autowired
     private RoomService roomService;
 
+    @Autowired
+    private RoomImageService roomImageService;
+
+    @Autowired
+    private RoomImageVariantService imageVariantService;
+
+    @Autowired
+    private JsonMapper jsonMapper;
+
+    @Autowired
+    private RoomEventBroadcaster eventBroadcaster;
+
     @Operation(summary = "Get all rooms",
             description = "Retrieve a complete list of all rooms in the system.")
     @ApiResponses({
@@ -65,7 +100,7 @@ public class RoomController {
     })
     @GetMapping
     public ResponseEntity<List<RoomDTO>> getAllRooms() {
-        return ResponseEntity.ok(RoomMapper.toRoomDTOList(roomService.getAllRooms()));
+        return ResponseEntity.ok(roomService.getAllRoomDTOs());
     }
 
     @Operation(summary = "Get room count by type",
@@ -91,11 +126,11 @@ public class RoomController {
             @Parameter(description = "Unique room number", example = "101")
             @PathVariable String roomNumber) {
 
-        Room room = roomService.getRoomByNumber(roomNumber);
+        RoomDTO room = roomService.getRoomDTOByNumber(roomNumber);
         if (room == null)
             return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
 
-        return ResponseEntity.ok(RoomMapper.toRoomDTO(room));
+        return ResponseEntity.ok(room);
     }
 
     @Operation(summary = "Create new room",
@@ -155,11 +190,61 @@ public class RoomController {
         return ResponseEntity.ok(RoomMapper.toRoomStatusHistoryDTO(updated));
     }
 
+    @Operation(summary = "Compare-and-set room status",
+            description = "Sets today's status to newStatus only if the room is currently in expectedStatus. "
+                    + "Concurrent changes are detected with the room version and retried a few times; "
+                    + "if the room is in another status, or keeps changing, the request fails with 409.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Status changed"),
+        @ApiResponse(responseCode = "400", description = "expectedStatus or newStatus missing", content = @Content),
+        @ApiResponse(responseCode = "409", description = "Room is not in expectedStatus", content = @Content)
+    })
+    @PostMapping("/{roomNumber}/status/transition")
+    public ResponseEntity<RoomStatusHistoryDTO> transitionRoomStatus(
+            @PathVariable String roomNumber,
+            @RequestBody RoomStatusTransitionDTO transitionDTO) {
+
+        if (transitionDTO.getExpectedStatus() == null || transitionDTO.getNewStatus() == null) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+        RoomStatusHistory updated = roomService.transitionRoomStatus(
+                roomNumber,
+                transitionDTO.getExpectedStatus(),
+                transitionDTO.getNewStatus(),
+                transitionDTO.getChangedBy() != null ? transitionDTO.getChangedBy() : "ADMIN");
+
+        return ResponseEntity.ok(RoomMapper.toRoomStatusHistoryDTO(updated));
+    }
+
+    @Operation(summary = "Bulk update room statuses",
+            description = "Applies many (roomNumber, status, date) changes in one transaction and reports an outcome per change. "
+                    + "date defaults to today; a change for today also updates the room's status. At most 1000 changes per request.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Changes applied, see the per-item outcomes"),
+        @ApiResponse(responseCode = "400", description = "No changes or too many changes", content = @Content)
+    })
+    @PostMapping("/status/bulk")
+    public ResponseEntity<BulkStatusUpdateResultDTO> bulkUpdateRoomStatus(
+            @RequestBody BulkStatusUpdateDTO bulkDTO) {
+
+        if (bulkDTO.getChanges() == null || bulkDTO.getChanges().isEmpty()) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+        try {
+            return ResponseEntity.ok(roomService.bulkUpdateRoomStatus(
+                    bulkDTO.getChanges(),
+                    bulkDTO.getChangedBy() != null ? bulkDTO.getChangedBy() : "ADMIN"));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+    }
+
     @Operation(summary = "Check-in room",
-            description = "Marks the room as OCCUPIED for the current date.")
+            description = "Marks an AVAILABLE room as OCCUPIED for the current date.")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Room checked-in successfully"),
-        @ApiResponse(responseCode = "404", description = "Room not found", content = @Content)
+        @ApiResponse(responseCode = "404", description = "Room not found", content = @Content),
+        @ApiResponse(responseCode = "409", description = "Room is not AVAILABLE", content = @Content)
     })
     @PostMapping("/{roomNumber}/check-in")
     public ResponseEntity<RoomStatusHistoryDTO> checkInRoom(
@@ -174,10 +259,11 @@ public class RoomController {
     }
 
     @Operation(summary = "Check-out room",
-            description = "Marks the room as AVAILABLE for the current date.")
+            description = "Marks an OCCUPIED room as AVAILABLE for the current date.")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Room checked-out successfully"),
-        @ApiResponse(responseCode = "404", description = "Room not found", content = @Content)
+        @ApiResponse(responseCode = "404", description = "Room not found", content = @Content),
+        @ApiResponse(responseCode = "409", description = "Room is not OCCUPIED", content = @Content)
     })
     @PostMapping("/{roomNumber}/check-out")
     public ResponseEntity<RoomStatusHistoryDTO> checkOutRoom(
@@ -233,9 +319,7 @@ public class RoomController {
     @ApiResponse(responseCode = "200", description = "Available rooms retrieved")
     @GetMapping("/available")
     public ResponseEntity<List<RoomAvailabilityDTO>> getAvailableRooms() {
-        return ResponseEntity.ok(
-                RoomMapper.toRoomAvailabilityDTOListFromHistory(
-                        roomService.getAvailableRooms()));
+        return ResponseEntity.ok(roomService.getAvailableRoomSummariesByDate(LocalDate.now()));
     }
 
     @Operation(summary = "Get available rooms by date",
@@ -248,55 +332,78 @@ public class RoomController {
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
             LocalDate date) {
 
-        return ResponseEntity.ok(
-                RoomMapper.toRoomAvailabilityDTOListFromHistory(
-                        roomService.getAvailableRoomsByDate(date)));
+        return ResponseEntity.ok(roomService.getAvailableRoomSummariesByDate(date));
+    }
+
+    @Operation(summary = "Search rooms available for a date range",
+            description = "Returns all rooms that are AVAILABLE on every night from 'from' (inclusive) to 'to' (exclusive), optionally filtered by room type and minimum capacity.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Available rooms retrieved"),
+        @ApiResponse(responseCode = "400", description = "Invalid date range", content = @Content)
+    })
+    @GetMapping("/availability/search")
+    public ResponseEntity<List<RoomAvailabilityDTO>> searchAvailableRooms(
+            @RequestParam
+            @Parameter(description = "Check-in date in yyyy-MM-dd format", example = "2026-03-05")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate from,
+            @RequestParam
+            @Parameter(description = "Check-out date in yyyy-MM-dd format (exclusive)", example = "2026-03-10")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate to,
+            @RequestParam(required = false)
+            @Parameter(description = "Room type (SINGLE, DOUBLE, DELUXE)", example = "DOUBLE")
+            RoomType type,
+            @RequestParam(required = false)
+            @Parameter(description = "Minimum number of guests the room must hold", example = "2")
+            Integer minCapacity) {
+
+        if (!to.isAfter(from)) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+        return ResponseEntity.ok(roomService.searchAvailableRooms(from, to, type, minCapacity));
     }
 
     @Operation(summary = "Get occupied rooms (today)")
     @ApiResponse(responseCode = "200", description = "Occupied rooms retrieved")
     @GetMapping("/occupied")
-    public ResponseEntity<List<RoomStatusHistoryDTO>> getOccupiedRooms() {
+    public ResponseEntity<List<RoomStatusSnapshotDTO>> getOccupiedRooms() {
         return ResponseEntity.ok(
-                RoomMapper.toRoomStatusHistoryDTOList(
-                        roomService.getOccupiedRooms()));
+                roomService.getRoomStatusSnapshotsByDate(RoomStatus.OCCUPIED, LocalDate.now()));
     }
 
     @Operation(summary = "Get occupied rooms by date")
     @ApiResponse(responseCode = "200", description = "Occupied rooms retrieved")
     @GetMapping("/occupied/by-date")
-    public ResponseEntity<List<RoomStatusHistoryDTO>> getOccupiedRoomsByDate(
+    public ResponseEntity<List<RoomStatusSnapshotDTO>> getOccupiedRoomsByDate(
             @RequestParam
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
             @Parameter(description = "Date in yyyy-MM-dd format", example = "2026-03-05")
             LocalDate date) {
 
         return ResponseEntity.ok(
-                RoomMapper.toRoomStatusHistoryDTOList(
-                        roomService.getOccupiedRoomsByDate(date)));
+                roomService.getRoomStatusSnapshotsByDate(RoomStatus.OCCUPIED, date));
     }
 
     @Operation(summary = "Get maintenance rooms (today)")
     @ApiResponse(responseCode = "200", description = "Maintenance rooms retrieved")
     @GetMapping("/maintenance")
-    public ResponseEntity<List<RoomStatusHistoryDTO>> getMaintenanceRooms() {
+    public ResponseEntity<List<RoomStatusSnapshotDTO>> getMaintenanceRooms() {
         return ResponseEntity.ok(
-                RoomMapper.toRoomStatusHistoryDTOList(
-                        roomService.getMaintenanceRooms()));
+                roomService.getRoomStatusSnapshotsByDate(RoomStatus.MAINTENANCE, LocalDate.now()));
     }
 
     @Operation(summary = "Get maintenance rooms by date")
     @ApiResponse(responseCode = "200", description = "Maintenance rooms retrieved")
     @GetMapping("/maintenance/by-date")
-    public ResponseEntity<List<RoomStatusHistoryDTO>> getMaintenanceRoomsByDate(
+    public ResponseEntity<List<RoomStatusSnapshotDTO>> getMaintenanceRoomsByDate(
             @RequestParam
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
             @Parameter(description = "Date in yyyy-MM-dd format", example = "2026-03-05")
             LocalDate date) {
 
         return ResponseEntity.ok(
-                RoomMapper.toRoomStatusHistoryDTOList(
-                        roomService.getMaintenanceRoomsByDate(date)));
+                roomService.getRoomStatusSnapshotsByDate(RoomStatus.MAINTENANCE, date));
     }
 
     @Operation(summary = "Get full status history of a room")
@@ -305,9 +412,7 @@ public class RoomController {
     public ResponseEntity<List<RoomStatusHistoryDTO>> getRoomStatusHistory(
             @PathVariable String roomNumber) {
 
-        return ResponseEntity.ok(
-                RoomMapper.toRoomStatusHistoryDTOList(
-                        roomService.getRoomStatusHistory(roomNumber)));
+        return ResponseEntity.ok(roomService.getRoomStatusHistory(roomNumber));
     }
 
     @Operation(summary = "Get room status history by date")
@@ -319,9 +424,7 @@ public class RoomController {
             @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
             LocalDate date) {
 
-        return ResponseEntity.ok(
-                RoomMapper.toRoomStatusHistoryDTOList(
-                        roomService.getRoomStatusHistoryByDate(roomNumber, date)));
+        return ResponseEntity.ok(roomService.getRoomStatusHistoryByDate(roomNumber, date));
     }
 
     @Operation(summary = "Get room status history by date range")
@@ -332,9 +435,7 @@ public class RoomController {
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate startDate,
             @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate endDate) {
 
-        return ResponseEntity.ok(
-                RoomMapper.toRoomStatusHistoryDTOList(
-                        roomService.getRoomStatusHistoryByDateRange(roomNumber, startDate, endDate)));
+        return ResponseEntity.ok(roomService.getRoomStatusHistoryByDateRange(roomNumber, startDate, endDate));
     }
 
     @Operation(summary = "Get latest status of a room")
@@ -343,9 +444,7 @@ public class RoomController {
     public ResponseEntity<RoomStatusHistoryDTO> getLatestRoomStatus(
             @PathVariable String roomNumber) {
 
-        return ResponseEntity.ok(
-                RoomMapper.toRoomStatusHistoryDTO(
-                        roomService.getLatestRoomStatus(roomNumber)));
+        return ResponseEntity.ok(roomService.getLatestRoomStatus(roomNumber));
     }
 
     @Operation(summary = "Get all rooms status for a specific date (Admin overview)")
@@ -357,9 +456,122 @@ public class RoomController {
             @Parameter(description = "Date in yyyy-MM-dd format", example = "2026-03-05")
             LocalDate date) {
 
-        return ResponseEntity.ok(
-                RoomMapper.toRoomStatusHistoryDTOList(
-                        roomService.getAllRoomsStatusHistoryByDate(date)));
+        return ResponseEntity.ok(roomService.getAllRoomsStatusHistoryByDate(date));
+    }
+
+    @Operation(summary = "Get a page of a room's status history",
+            description = "Keyset pagination on (date, changedAt, id), newest first. Pass nextCursor from the previous page as cursor.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Page retrieved"),
+        @ApiResponse(responseCode = "400", description = "Malformed cursor", content = @Content),
+        @ApiResponse(responseCode = "404", description = "Room not found", content = @Content)
+    })
+    @GetMapping("/{roomNumber}/status-history/page")
+    public ResponseEntity<StatusHistoryPageDTO> getRoomStatusHistoryPage(
+            @PathVariable String roomNumber,
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Rows per page (max 1000)", example = "100")
+            @RequestParam(defaultValue = "100") int limit) {
+
+        String roomId = roomService.getRoomIdByNumber(roomNumber);
+        if (roomId == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        }
+        try {
+            return ResponseEntity.ok(roomService.getRoomStatusHistoryPage(roomId, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+    }
+
+    @Operation(summary = "Stream a room's status history as NDJSON",
+            description = "Writes one JSON object per line, newest first, as rows are read from the database.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "History streamed", content = @Content(mediaType = "application/x-ndjson")),
+        @ApiResponse(responseCode = "404", description = "Room not found", content = @Content)
+    })
+    @GetMapping(value = "/{roomNumber}/status-history/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamRoomStatusHistory(
+            @PathVariable String roomNumber) {
+
+        String roomId = roomService.getRoomIdByNumber(roomNumber);
+        if (roomId == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        }
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> writeNdjson(out, sink -> roomService.streamRoomStatusHistory(roomId, sink)));
+    }
+
+    @Operation(summary = "Get a page of all rooms status for a specific date",
+            description = "Keyset pagination on (changedAt, id), newest change first. Pass nextCursor from the previous page as cursor.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Page retrieved"),
+        @ApiResponse(responseCode = "400", description = "Malformed cursor or cursor from another date", content = @Content)
+    })
+    @GetMapping("/history/by-date/page")
+    public ResponseEntity<StatusHistoryPageDTO> getAllRoomsStatusHistoryPageByDate(
+            @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Date in yyyy-MM-dd format", example = "2026-03-05")
+            LocalDate date,
+            @RequestParam(required = false) String cursor,
+            @Parameter(description = "Rows per page (max 1000)", example = "100")
+            @RequestParam(defaultValue = "100") int limit) {
+
+        try {
+            return ResponseEntity.ok(roomService.getAllRoomsStatusHistoryPageByDate(date, cursor, limit));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+    }
+
+    @Operation(summary = "Stream all rooms status for a specific date as NDJSON",
+            description = "Writes one JSON object per line, newest change first, as rows are read from the database.")
+    @ApiResponse(responseCode = "200", description = "History streamed", content = @Content(mediaType = "application/x-ndjson"))
+    @GetMapping(value = "/history/by-date/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllRoomsStatusHistoryByDate(
+            @RequestParam
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            @Parameter(description = "Date in yyyy-MM-dd format", example = "2026-03-05")
+            LocalDate date) {
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(out -> writeNdjson(out, sink -> roomService.streamAllRoomsStatusHistoryByDate(date, sink)));
+    }
+
+    @Operation(summary = "Subscribe to room status changes (server-sent events)",
+            description = "Pushes a room-status event {id, roomNumber, date, status, changedAt} after every committed status change. "
+                    + "Changes to the same room and date within one flush interval are coalesced to the latest. "
+                    + "Resume with the Last-Event-ID header (sent automatically by EventSource) or the since parameter; "
+                    + "a resync event means changes were missed and the client should reload its data.")
+    @ApiResponse(responseCode = "200", description = "Event stream opened", content = @Content(mediaType = "text/event-stream"))
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamRoomEvents(
+            @Parameter(description = "Replay changes after this event id", example = "1792000000000000")
+            @RequestParam(required = false) Long since,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+
+        return eventBroadcaster.subscribe(lastEventId != null ? lastEventId : since);
+    }
+
+    // Runs on the async request thread: the service opens its own read-only transaction around the JPA stream
+    private void writeNdjson(OutputStream out, Consumer<Consumer<RoomStatusHistoryDTO>> source) throws IOException {
+        BufferedOutputStream buffered = new BufferedOutputStream(out);
+        try {
+            source.accept(row -> {
+                try {
+                    buffered.write(jsonMapper.writeValueAsBytes(row));
+                    buffered.write('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        buffered.flush();
     }
 
     
@@ -373,64 +585,67 @@ public class RoomController {
     }
 
     @Operation(summary = "Get room type image",
-            description = "Retrieve the image file for a specific room type to display in the frontend.")
+            description = "Retrieve the image file for a specific room type to display in the frontend. "
+                    + "The variant is chosen by the size parameter, else by the Sec-CH-Width / Sec-CH-Viewport-Width client hints, else the full image. "
+                    + "Supports ETag/Last-Modified revalidation and byte ranges.")
     @ApiResponses({
         @ApiResponse(responseCode = "200", description = "Image retrieved successfully", content = @Content(mediaType = "image/jpeg")),
+        @ApiResponse(responseCode = "206", description = "Requested byte range of the image", content = @Content(mediaType = "image/jpeg")),
+        @ApiResponse(responseCode = "304", description = "Image not modified since the client's copy", content = @Content),
+        @ApiResponse(responseCode = "400", description = "Unknown size", content = @Content),
         @ApiResponse(responseCode = "404", description = "Room type or image not found", content = @Content)
     })
     @GetMapping("/room-types/{type}/image")
-    public ResponseEntity<byte[]> getRoomTypeImage(
+    public ResponseEntity<Resource> getRoomTypeImage(
             @Parameter(description = "Room type (SINGLE, DOUBLE, DELUXE)", example = "SINGLE")
-            @PathVariable String type) {
+            @PathVariable String type,
+            @Parameter(description = "Image variant (THUMBNAIL, CARD, FULL)", example = "CARD")
+            @RequestParam(required = false) String size,
+            @RequestHeader(value = "Sec-CH-Width", required = false) Integer width,
+            @RequestHeader(value = "Sec-CH-Viewport-Width", required = false) Integer viewportWidth) {
+
+        RoomType roomType;
+        ImageVariant variant;
+        try {
+            roomType = RoomType.valueOf(type.toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        }
+        try {
+            variant = imageVariantService.choose(size, width, viewportWidth);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
 
         try {
-            RoomType roomType = RoomType.valueOf(type.toUpperCase());
             String imagePath = roomService.getRoomTypeImage(roomType);
 
             if (imagePath == null || imagePath.contains("not found")) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
             }
 
-            // Read image file from filesystem
-            Path imagefile = Paths.get(imagePath);
-            
-            // Check if file exists
-            if (!Files.exists(imagefile)) {
+            RoomImageService.ImageAsset image = roomImageService.load(imageVariantService.resolve(imagePath, variant));
+            if (image == null) {
                 return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
             }
 
-            byte[] imageBytes = Files.readAllBytes(imagefile);
-            
-            // Determine media type based on file extension
-            String contentType = getContentType(imagePath);
-            
+            // Spring answers If-None-Match / If-Modified-Since with 304 and Range with 206 from these headers
             return ResponseEntity.ok()
-                    .contentType(MediaType.parseMediaType(contentType))
-                    .body(imageBytes);
-                    
-        } catch (IllegalArgumentException e) {
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+                    .eTag(image.getETag())
+                    .lastModified(image.getLastModified())
+                    .cacheControl(CacheControl.maxAge(1, TimeUnit.DAYS).cachePublic())
+                    .header(HttpHeaders.ACCEPT_RANGES, "bytes")
+                    // the variant depends on the client hints when no size is given
+                    .header("Accept-CH", "Sec-CH-Width, Sec-CH-Viewport-Width")
+                    .varyBy("Sec-CH-Width", "Sec-CH-Viewport-Width")
+                    .contentType(image.getContentType())
+                    .body(image.getResource());
+
         } catch (IOException e) {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(null);
         }
     }
 
-    /**
-     * Determine content type based on file extension
-     */
-    private String getContentType(String filePath) {
-        if (filePath.endsWith(".jpg") || filePath.endsWith(".jpeg")) {
-            return "image/jpeg";
-        } else if (filePath.endsWith(".png")) {
-            return "image/png";
-        } else if (filePath.endsWith(".gif")) {
-            return "image/gif";
-        } else if (filePath.endsWith(".webp")) {
-            return "image/webp";
-        }
-        return "application/octet-stream";
-    }
-
     @Operation(summary = "Get room statistics",
             description = "Retrieve overall room statistics including occupancy rates and revenue estimates.")
     @ApiResponse(responseCode = "200", description = "Statistics retrieved successfully")
@@ -447,4 +662,37 @@ public class RoomController {
         return ResponseEntity.ok(roomService.getStatisticsByType());
     }
 
+    @Operation(summary = "Get occupancy by room type over a date range",
+            description = "Room-nights per status, occupancy rate and occupied revenue for each room type, per day, ISO week, month or for the whole range. Served from the daily occupancy rollup.")
+    @ApiResponses({
+        @ApiResponse(responseCode = "200", description = "Occupancy retrieved"),
+        @ApiResponse(responseCode = "400", description = "Invalid date range", content = @Content)
+    })
+    @GetMapping("/analytics/occupancy")
+    public ResponseEntity<List<OccupancyDTO>> getOccupancy(
+            @RequestParam
+            @Parameter(description = "First date in yyyy-MM-dd format", example = "2026-03-01")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate from,
+            @RequestParam
+            @Parameter(description = "Last date in yyyy-MM-dd format (inclusive)", example = "2026-03-31")
+            @DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+            LocalDate to,
+            @RequestParam(defaultValue = "DAY")
+            @Parameter(description = "Period to group by (DAY, WEEK, MONTH, RANGE)", example = "WEEK")
+            OccupancyGroupBy groupBy) {
+
+        try {
+            return ResponseEntity.ok(roomService.getOccupancy(from, to, groupBy));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(null);
+        }
+    }
+
+    // A compare-and-set status change lost: the room is in another status than the caller expected
+    @ExceptionHandler(RoomStatusConflictException.class)
+    public ResponseEntity<String> handleStatusConflict(RoomStatusConflictException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+    }
+
 }
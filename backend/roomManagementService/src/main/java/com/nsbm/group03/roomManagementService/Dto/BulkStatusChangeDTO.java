@@ -0,0 +1,40 @@
+package com.nsbm.group03.roomManagementService.Dto;
+
+import java.time.LocalDate;
+
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * One change of a bulk status update; date defaults to today
+ */
+public class BulkStatusChangeDTO {
+
+    @NotBlank
+    private String roomNumber;
+
+    @NotNull
+    private RoomStatus status;
+
+    private LocalDate date;
+
+    public BulkStatusChangeDTO() {}
+
+    public BulkStatusChangeDTO(String roomNumber, RoomStatus status, LocalDate date) {
+        this.roomNumber = roomNumber;
+        this.status = status;
+        this.date = date;
+    }
+
+    // Getters & Setters
+    public String getRoomNumber() { return roomNumber; }
+    public void setRoomNumber(String roomNumber) { this.roomNumber = roomNumber; }
+
+    public RoomStatus getStatus() { return status; }
+    public void setStatus(RoomStatus status) { this.status = status; }
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+}
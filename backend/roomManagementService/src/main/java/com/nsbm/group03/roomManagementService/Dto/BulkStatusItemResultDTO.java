@@ -0,0 +1,55 @@
+package com.nsbm.group03.roomManagementService.Dto;
+
+import java.time.LocalDate;
+
+import com.nsbm.group03.roomManagementService.Enum.BulkUpdateOutcome;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+
+/**
+ * Outcome of one change of a bulk status update, in request order
+ */
+public class BulkStatusItemResultDTO {
+
+    private int index;
+    private String roomNumber;
+    private RoomStatus status;
+    private LocalDate date;
+    private BulkUpdateOutcome outcome;
+    private String historyId;
+    private String message;
+
+    public BulkStatusItemResultDTO() {}
+
+    public BulkStatusItemResultDTO(int index, String roomNumber, RoomStatus status, LocalDate date,
+                                   BulkUpdateOutcome outcome, String historyId, String message) {
+        this.index = index;
+        this.roomNumber = roomNumber;
+        this.status = status;
+        this.date = date;
+        this.outcome = outcome;
+        this.historyId = historyId;
+        this.message = message;
+    }
+
+    // Getters & Setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public String getRoomNumber() { return roomNumber; }
+    public void setRoomNumber(String roomNumber) { this.roomNumber = roomNumber; }
+
+    public RoomStatus getStatus() { return status; }
+    public void setStatus(RoomStatus status) { this.status = status; }
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public BulkUpdateOutcome getOutcome() { return outcome; }
+    public void setOutcome(BulkUpdateOutcome outcome) { this.outcome = outcome; }
+
+    public String getHistoryId() { return historyId; }
+    public void setHistoryId(String historyId) { this.historyId = historyId; }
+
+    public String getMessage() { return message; }
+    public void setMessage(String message) { this.message = message; }
+}
@@ -0,0 +1,27 @@
+package com.nsbm.group03.roomManagementService.Dto;
+
+import java.util.List;
+
+/**
+ * Request body of a bulk status update
+ */
+public class BulkStatusUpdateDTO {
+
+    private String changedBy;
+
+    private List<BulkStatusChangeDTO> changes;
+
+    public BulkStatusUpdateDTO() {}
+
+    public BulkStatusUpdateDTO(String changedBy, List<BulkStatusChangeDTO> changes) {
+        this.changedBy = changedBy;
+        this.changes = changes;
+    }
+
+    // Getters & Setters
+    public String getChangedBy() { return changedBy; }
+    public void setChangedBy(String changedBy) { this.changedBy = changedBy; }
+
+    public List<BulkStatusChangeDTO> getChanges() { return changes; }
+    public void setChanges(List<BulkStatusChangeDTO> changes) { this.changes = changes; }
+}
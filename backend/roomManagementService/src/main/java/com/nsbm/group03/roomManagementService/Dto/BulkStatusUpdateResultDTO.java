@@ -0,0 +1,31 @@
+package com.nsbm.group03.roomManagementService.Dto;
+
+import java.util.List;
+
+/**
+ * Response of a bulk status update: totals plus one result per requested change
+ */
+public class BulkStatusUpdateResultDTO {
+
+    private int updated;
+    private int failed;
+    private List<BulkStatusItemResultDTO> results;
+
+    public BulkStatusUpdateResultDTO() {}
+
+    public BulkStatusUpdateResultDTO(int updated, int failed, List<BulkStatusItemResultDTO> results) {
+        this.updated = updated;
+        this.failed = failed;
+        this.results = results;
+    }
+
+    // Getters & Setters
+    public int getUpdated() { return updated; }
+    public void setUpdated(int updated) { this.updated = updated; }
+
+    public int getFailed() { return failed; }
+    public void setFailed(int failed) { this.failed = failed; }
+
+    public List<BulkStatusItemResultDTO> getResults() { return results; }
+    public void setResults(List<BulkStatusItemResultDTO> results) { this.results = results; }
+}
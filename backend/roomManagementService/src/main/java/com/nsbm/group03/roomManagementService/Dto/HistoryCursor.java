@@ -0,0 +1,50 @@
+package com.nsbm.group03.roomManagementService.Dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Opaque keyset cursor over status history ordered by (date, changedAt, id) descending.
+ * It holds the sort key of the last row of a page; the next page starts strictly after it.
+ */
+public class HistoryCursor {
+
+    private final LocalDate date;
+    private final LocalDateTime changedAt;
+    private final String id;
+
+    public HistoryCursor(LocalDate date, LocalDateTime changedAt, String id) {
+        this.date = date;
+        this.changedAt = changedAt;
+        this.id = id;
+    }
+
+    public static HistoryCursor of(RoomStatusHistoryDTO row) {
+        return new HistoryCursor(row.getDate(), row.getChangedAt(), row.getId());
+    }
+
+    /**
+     * Parse a cursor produced by encode(). Throws IllegalArgumentException when it is malformed.
+     */
+    public static HistoryCursor decode(String cursor) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split("\\|", 3);
+            UUID.fromString(parts[2]);
+            return new HistoryCursor(LocalDate.parse(parts[0]), LocalDateTime.parse(parts[1]), parts[2]);
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    public String encode() {
+        String key = date + "|" + changedAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(key.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDate getDate() { return date; }
+    public LocalDateTime getChangedAt() { return changedAt; }
+    public String getId() { return id; }
+}
@@ -0,0 +1,49 @@
+package com.nsbm.group03.roomManagementService.Dto;
+
+/**
+ * Outcome of a bulk status history generation run
+ */
+public class HistoryGenerationResult {
+
+    private int rooms;
+    private int rowsGenerated;
+    private long elapsedMillis;
+
+    public HistoryGenerationResult() {}
+
+    public HistoryGenerationResult(int rooms, int rowsGenerated, long elapsedMillis) {
+        this.rooms = rooms;
+        this.rowsGenerated = rowsGenerated;
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    // Getters and Setters
+    public int getRooms() {
+        return rooms;
+    }
+
+    public void setRooms(int rooms) {
+        this.rooms = rooms;
+    }
+
+    public int getRowsGenerated() {
+        return rowsGenerated;
+    }
+
+    public void setRowsGenerated(int rowsGenerated) {
+        this.rowsGenerated = rowsGenerated;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public void setElapsedMillis(long elapsedMillis) {
+        this.elapsedMillis = elapsedMillis;
+    }
+
+    @Override
+    public String toString() {
+        return rowsGenerated + " rows for " + rooms + " rooms in " + elapsedMillis + " ms";
+    }
+}
@@ -0,0 +1,66 @@
+package com.nsbm.group03.roomManagementService.Dto;
+
+import java.time.LocalDate;
+
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+
+/**
+ * Occupancy of one room type over one period (inclusive dates), summed over its days.
+ * Counts are room-nights; occupancyRate is occupied / roomNights and revenue is the
+ * pricePerNight of the occupied room-nights.
+ */
+public class OccupancyDTO {
+
+    private LocalDate periodStart;
+    private LocalDate periodEnd;
+    private RoomType roomType;
+    private long roomNights;
+    private long occupied;
+    private long available;
+    private long maintenance;
+    private double occupancyRate;
+    private double revenue;
+
+    public OccupancyDTO() {}
+
+    public OccupancyDTO(LocalDate periodStart, LocalDate periodEnd, RoomType roomType,
+                        long occupied, long available, long maintenance, double revenue) {
+        this.periodStart = periodStart;
+        this.periodEnd = periodEnd;
+        this.roomType = roomType;
+        this.occupied = occupied;
+        this.available = available;
+        this.maintenance = maintenance;
+        this.roomNights = occupied + available + maintenance;
+        this.occupancyRate = roomNights > 0 ? (double) occupied / roomNights : 0.0;
+        this.revenue = revenue;
+    }
+
+    // Getters & Setters
+    public LocalDate getPeriodStart() { return periodStart; }
+    public void setPeriodStart(LocalDate periodStart) { this.periodStart = periodStart; }
+
+    public LocalDate getPeriodEnd() { return periodEnd; }
+    public void setPeriodEnd(LocalDate periodEnd) { this.periodEnd = periodEnd; }
+
+    public RoomType getRoomType() { return roomType; }
+    public void setRoomType(RoomType roomType) { this.roomType = roomType; }
+
+    public long getRoomNights() { return roomNights; }
+    public void setRoomNights(long roomNights) { this.roomNights = roomNights; }
+
+    public long getOccupied() { return occupied; }
+    public void setOccupied(long occupied) { this.occupied = occupied; }
+
+    public long getAvailable() { return available; }
+    public void setAvailable(long available) { this.available = available; }
+
+    public long getMaintenance() { return maintenance; }
+    public void setMaintenance(long maintenance) { this.maintenance = maintenance; }
+
+    public double getOccupancyRate() { return occupancyRate; }
+    public void setOccupancyRate(double occupancyRate) { this.occupancyRate = occupancyRate; }
+
+    public double getRevenue() { return revenue; }
+    public void setRevenue(double revenue) { this.revenue = revenue; }
+}
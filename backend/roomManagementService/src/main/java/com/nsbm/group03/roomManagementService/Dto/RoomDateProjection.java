@@ -0,0 +1,13 @@
+package com.nsbm.group03.roomManagementService.Dto;
+
+import java.time.LocalDate;
+
+/**
+ * Projection of a (room, date) pair that already has status history.
+ */
+public interface RoomDateProjection {
+
+    String getRoomId();
+
+    LocalDate getDate();
+}
@@ -0,0 +1,18 @@
+package com.nsbm.group03.roomManagementService.Dto;
+
+import java.time.LocalDate;
+
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+
+/**
+ * Projection of a single (room, date, status) cell of the status history.
+ * Used to build in-memory indexes without hydrating Room entities.
+ */
+public interface RoomStatusCellProjection {
+
+    String getRoomId();
+
+    LocalDate getDate();
+
+    RoomStatus getStatus();
+}
@@ -0,0 +1,45 @@
+package com.nsbm.group03.roomManagementService.Dto;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+
+/**
+ * A committed room status change as pushed on /api/rooms/events.
+ * id increases with every change and doubles as the SSE event id used to resume a stream.
+ */
+public class RoomStatusEventDTO {
+
+    private long id;
+    private String roomNumber;
+    private LocalDate date;
+    private RoomStatus status;
+    private LocalDateTime changedAt;
+
+    public RoomStatusEventDTO() {}
+
+    public RoomStatusEventDTO(long id, String roomNumber, LocalDate date, RoomStatus status, LocalDateTime changedAt) {
+        this.id = id;
+        this.roomNumber = roomNumber;
+        this.date = date;
+        this.status = status;
+        this.changedAt = changedAt;
+    }
+
+    // Getters & Setters
+    public long getId() { return id; }
+    public void setId(long id) { this.id = id; }
+
+    public String getRoomNumber() { return roomNumber; }
+    public void setRoomNumber(String roomNumber) { this.roomNumber = roomNumber; }
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public RoomStatus getStatus() { return status; }
+    public void setStatus(RoomStatus status) { this.status = status; }
+
+    public LocalDateTime getChangedAt() { return changedAt; }
+    public void setChangedAt(LocalDateTime changedAt) { this.changedAt = changedAt; }
+}
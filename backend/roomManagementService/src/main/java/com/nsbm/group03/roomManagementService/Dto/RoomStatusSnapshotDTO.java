@@ -0,0 +1,35 @@
+package com.nsbm.group03.roomManagementService.Dto;
+
+import java.time.LocalDate;
+
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+
+// A room's status on a date, without the history row behind it (no id, changedBy or changedAt)
+public class RoomStatusSnapshotDTO {
+    private String roomId;
+    private String roomNumber;
+    private LocalDate date;
+    private RoomStatus status;
+
+    public RoomStatusSnapshotDTO() {}
+
+    public RoomStatusSnapshotDTO(String roomId, String roomNumber, LocalDate date, RoomStatus status) {
+        this.roomId = roomId;
+        this.roomNumber = roomNumber;
+        this.date = date;
+        this.status = status;
+    }
+
+    // Getters & Setters
+    public String getRoomId() { return roomId; }
+    public void setRoomId(String roomId) { this.roomId = roomId; }
+
+    public String getRoomNumber() { return roomNumber; }
+    public void setRoomNumber(String roomNumber) { this.roomNumber = roomNumber; }
+
+    public LocalDate getDate() { return date; }
+    public void setDate(LocalDate date) { this.date = date; }
+
+    public RoomStatus getStatus() { return status; }
+    public void setStatus(RoomStatus status) { this.status = status; }
+}
@@ -0,0 +1,37 @@
+package com.nsbm.group03.roomManagementService.Dto;
+
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import jakarta.validation.constraints.NotNull;
+
+/**
+ * Compare-and-set status change: applied only while the room is still in expectedStatus.
+ */
+public class RoomStatusTransitionDTO {
+
+    @NotNull
+    private RoomStatus expectedStatus;
+
+    @NotNull
+    private RoomStatus newStatus;
+
+    private String changedBy;
+
+    public RoomStatusTransitionDTO() {}
+
+    public RoomStatusTransitionDTO(RoomStatus expectedStatus, RoomStatus newStatus, String changedBy) {
+        this.expectedStatus = expectedStatus;
+        this.newStatus = newStatus;
+        this.changedBy = changedBy;
+    }
+
+    // Getters & Setters
+
+    public RoomStatus getExpectedStatus() { return expectedStatus; }
+    public void setExpectedStatus(RoomStatus expectedStatus) { this.expectedStatus = expectedStatus; }
+
+    public RoomStatus getNewStatus() { return newStatus; }
+    public void setNewStatus(RoomStatus newStatus) { this.newStatus = newStatus; }
+
+    public String getChangedBy() { return changedBy; }
+    public void setChangedBy(String changedBy) { this.changedBy = changedBy; }
+}
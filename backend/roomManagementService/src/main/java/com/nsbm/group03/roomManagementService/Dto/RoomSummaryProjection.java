@@ -0,0 +1,19 @@
+package com.nsbm.group03.roomManagementService.Dto;
+
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+
+/**
+ * Projection of the listing columns of a room, with its id for joining against status cells.
+ */
+public interface RoomSummaryProjection {
+
+    String getRoomId();
+
+    String getRoomNumber();
+
+    RoomType getRoomType();
+
+    double getPricePerNight();
+
+    int getCapacity();
+}
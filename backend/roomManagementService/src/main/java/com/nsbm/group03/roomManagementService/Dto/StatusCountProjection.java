@@ -0,0 +1,13 @@
+package com.nsbm.group03.roomManagementService.Dto;
+
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+
+/**
+ * Projection of a status with the number of history rows in it.
+ */
+public interface StatusCountProjection {
+
+    RoomStatus getStatus();
+
+    long getRows();
+}
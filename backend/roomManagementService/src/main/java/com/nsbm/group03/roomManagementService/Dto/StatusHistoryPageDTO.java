@@ -0,0 +1,37 @@
+package com.nsbm.group03.roomManagementService.Dto;
+
+import java.util.List;
+
+/**
+ * One keyset page of status history rows.
+ * nextCursor is null on the last page, otherwise it is passed back as the cursor parameter.
+ */
+public class StatusHistoryPageDTO {
+
+    private List<RoomStatusHistoryDTO> items;
+    private String nextCursor;
+
+    public StatusHistoryPageDTO() {}
+
+    public StatusHistoryPageDTO(List<RoomStatusHistoryDTO> items, String nextCursor) {
+        this.items = items;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<RoomStatusHistoryDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<RoomStatusHistoryDTO> items) {
+        this.items = items;
+    }
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,17 @@
+package com.nsbm.group03.roomManagementService.Dto;
+
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+
+/**
+ * Projection of one (room type, latest status) group with its room count.
+ * Status is null for rooms without any history.
+ */
+public interface TypeStatusCountProjection {
+
+    RoomType getRoomType();
+
+    RoomStatus getStatus();
+
+    long getRooms();
+}
@@ -1,10 +1,12 @@
 package com.nsbm.group03.roomManagementService.Entity;
 
-import java.util.UUID;
-
 import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
 import com.nsbm.group03.roomManagementService.Enum.RoomType;
 
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
@@ -12,12 +14,16 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.Id;
 import jakarta.persistence.PrePersist;
 import jakarta.persistence.OneToMany;
+import jakarta.persistence.Version;
 
 
 @Entity
 public class Room {
 
-    @Id    
+    @Id
+    @JavaType(UuidBinaryJavaType.class)
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(columnDefinition = "binary(16)")
     private String roomId;
 
     @Enumerated(EnumType.STRING)
@@ -33,13 +39,18 @@ public class Room {
     @Column(nullable = false)
     private RoomStatus status;   
 
+    // bumped on every update, so a status change based on a stale read fails instead of overwriting
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     // historical statuses, cascade operations ensure they follow the room lifecycle
     @OneToMany(mappedBy = "room", cascade = jakarta.persistence.CascadeType.ALL, orphanRemoval = true)
     private java.util.List<RoomStatusHistory> statusHistory = new java.util.ArrayList<>();
 
     @PrePersist
     public void generateId() {
-        this.roomId = UUID.randomUUID().toString();
+        this.roomId = TimeOrderedId.next();
     }
     
     public Room() {
@@ -95,6 +106,14 @@ public class Room {
         this.status = status;
     }
 
+    public long getVersion() {
+        return version;
+    }
+
+    public void setVersion(long version) {
+        this.version = version;
+    }
+
     public java.util.List<RoomStatusHistory> getStatusHistory() {
         return statusHistory;
     }
@@ -106,7 +125,7 @@ public class Room {
     @Override
     public String toString() {
         return "Room [roomId=" + roomId + ", roomNumber=" + roomNumber + ", roomType=" + roomType + ", pricePerNight="
-                + pricePerNight + ", capacity=" + capacity + ", status=" + status + "]";
+                + pricePerNight + ", capacity=" + capacity + ", status=" + status + ", version=" + version + "]";
     }   
 
 }
@@ -0,0 +1,116 @@
+package com.nsbm.group03.roomManagementService.Entity;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.Id;
+
+/**
+ * Denormalised copy of the latest RoomStatusHistory row of each room, keyed by room id.
+ * Maintained by RoomService and RoomHistoryGenerator in the same transaction as the history write,
+ * and reconciled with RoomStatusHistory by CurrentStatusRepairJob.
+ */
+@Entity
+public class RoomCurrentStatus {
+
+    @Id
+    @JavaType(UuidBinaryJavaType.class)
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(columnDefinition = "binary(16)")
+    private String roomId;
+
+    @JavaType(UuidBinaryJavaType.class)
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(nullable = false, columnDefinition = "binary(16)")
+    private String historyId;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RoomStatus status;
+
+    @Column(nullable = false)
+    private String changedBy;
+
+    @Column(nullable = false)
+    private LocalDateTime changedAt;
+
+    public RoomCurrentStatus() {
+    }
+
+    public RoomCurrentStatus(String roomId, String historyId, LocalDate date, RoomStatus status, String changedBy,
+            LocalDateTime changedAt) {
+        this.roomId = roomId;
+        this.historyId = historyId;
+        this.date = date;
+        this.status = status;
+        this.changedBy = changedBy;
+        this.changedAt = changedAt;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+
+    public void setRoomId(String roomId) {
+        this.roomId = roomId;
+    }
+
+    public String getHistoryId() {
+        return historyId;
+    }
+
+    public void setHistoryId(String historyId) {
+        this.historyId = historyId;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public RoomStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(RoomStatus status) {
+        this.status = status;
+    }
+
+    public String getChangedBy() {
+        return changedBy;
+    }
+
+    public void setChangedBy(String changedBy) {
+        this.changedBy = changedBy;
+    }
+
+    public LocalDateTime getChangedAt() {
+        return changedAt;
+    }
+
+    public void setChangedAt(LocalDateTime changedAt) {
+        this.changedAt = changedAt;
+    }
+
+    @Override
+    public String toString() {
+        return "RoomCurrentStatus [roomId=" + roomId + ", historyId=" + historyId + ", date=" + date + ", status="
+                + status + ", changedBy=" + changedBy + ", changedAt=" + changedAt + "]";
+    }
+}
@@ -0,0 +1,114 @@
+package com.nsbm.group03.roomManagementService.Entity;
+
+import java.time.LocalDate;
+
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+
+/**
+ * Daily occupancy rollup: how many rooms of a type had a status on a day, and their summed pricePerNight.
+ * A room counts once per day, under the effective status of that day (its latest change).
+ * Rebuilt from RoomStatusHistory and RoomStatusSegment by OccupancyBackfillJob: for the days each
+ * committed history write touched (through RoomOccupancyCube, shortly after the commit) and weekly in full.
+ */
+@Entity
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_occupancy_date_type_status",
+        columnNames = {"date", "room_type", "status"}))
+public class RoomOccupancyDaily {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(nullable = false)
+    private LocalDate date;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RoomType roomType;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RoomStatus status;
+
+    @Column(nullable = false)
+    private long rooms;
+
+    @Column(nullable = false)
+    private double revenue;
+
+    public RoomOccupancyDaily() {
+    }
+
+    public RoomOccupancyDaily(LocalDate date, RoomType roomType, RoomStatus status, long rooms, double revenue) {
+        this.date = date;
+        this.roomType = roomType;
+        this.status = status;
+        this.rooms = rooms;
+        this.revenue = revenue;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public LocalDate getDate() {
+        return date;
+    }
+
+    public void setDate(LocalDate date) {
+        this.date = date;
+    }
+
+    public RoomType getRoomType() {
+        return roomType;
+    }
+
+    public void setRoomType(RoomType roomType) {
+        this.roomType = roomType;
+    }
+
+    public RoomStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(RoomStatus status) {
+        this.status = status;
+    }
+
+    public long getRooms() {
+        return rooms;
+    }
+
+    public void setRooms(long rooms) {
+        this.rooms = rooms;
+    }
+
+    public double getRevenue() {
+        return revenue;
+    }
+
+    public void setRevenue(double revenue) {
+        this.revenue = revenue;
+    }
+
+    @Override
+    public String toString() {
+        return "RoomOccupancyDaily [id=" + id + ", date=" + date + ", roomType=" + roomType + ", status=" + status
+                + ", rooms=" + rooms + ", revenue=" + revenue + "]";
+    }
+}
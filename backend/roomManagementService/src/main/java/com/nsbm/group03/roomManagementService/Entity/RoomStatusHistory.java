@@ -5,26 +5,43 @@ import java.time.LocalDateTime;
 
 import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
 
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
-import jakarta.persistence.GeneratedValue;
-import jakarta.persistence.GenerationType;
+import jakarta.persistence.ForeignKey;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.Table;
 
+// One index per access path of RoomStatusHistoryRepository (see RoomStatusHistoryIndexTest):
+// a room's days, a room's latest change, statuses of a day, changes of a day, and a status over time
 @Entity
+@Table(indexes = {
+    @Index(name = "idx_rsh_room_date", columnList = "room_id, date, changed_at, id"),
+    @Index(name = "idx_rsh_room_changed", columnList = "room_id, changed_at, id"),
+    @Index(name = "idx_rsh_date_status", columnList = "date, status, changed_at"),
+    @Index(name = "idx_rsh_date_changed", columnList = "date, changed_at, id"),
+    @Index(name = "idx_rsh_status_date", columnList = "status, date")
+})
 public class RoomStatusHistory {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
+    @JavaType(UuidBinaryJavaType.class)
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(columnDefinition = "binary(16)")
     private String id;
 
     @ManyToOne
-    @JoinColumn(name = "room_id", nullable = false)
+    @JoinColumn(name = "room_id", nullable = false, columnDefinition = "binary(16)",
+                foreignKey = @ForeignKey(name = "fk_rsh_room"))
     private Room room;
 
     @Column(nullable = false)
@@ -103,6 +120,9 @@ public class RoomStatusHistory {
 
     @PrePersist
     public void prePersist() {
+        if (this.id == null) {
+            this.id = TimeOrderedId.next();
+        }
         if (this.changedAt == null) {
             this.changedAt = LocalDateTime.now();
         }
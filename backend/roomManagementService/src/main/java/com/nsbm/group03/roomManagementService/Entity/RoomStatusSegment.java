@@ -0,0 +1,104 @@
+package com.nsbm.group03.roomManagementService.Entity;
+
+import java.time.LocalDate;
+
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+
+import org.hibernate.annotations.JavaType;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+
+/**
+ * Run-length encoded status history: the room had this status on every day from fromDate to toDate (inclusive).
+ * Written by HistoryCompactionJob from RoomStatusHistory rows older than the retention window,
+ * which are deleted once folded.
+ */
+@Entity
+@Table(indexes = @Index(name = "idx_segment_room_from", columnList = "room_id, from_date"))
+public class RoomStatusSegment {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @JavaType(UuidBinaryJavaType.class)
+    @JdbcTypeCode(SqlTypes.BINARY)
+    @Column(nullable = false, columnDefinition = "binary(16)")
+    private String roomId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(nullable = false)
+    private RoomStatus status;
+
+    @Column(nullable = false)
+    private LocalDate fromDate;
+
+    @Column(nullable = false)
+    private LocalDate toDate;
+
+    public RoomStatusSegment() {
+    }
+
+    public RoomStatusSegment(String roomId, RoomStatus status, LocalDate fromDate, LocalDate toDate) {
+        this.roomId = roomId;
+        this.status = status;
+        this.fromDate = fromDate;
+        this.toDate = toDate;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public void setId(Long id) {
+        this.id = id;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+
+    public void setRoomId(String roomId) {
+        this.roomId = roomId;
+    }
+
+    public RoomStatus getStatus() {
+        return status;
+    }
+
+    public void setStatus(RoomStatus status) {
+        this.status = status;
+    }
+
+    public LocalDate getFromDate() {
+        return fromDate;
+    }
+
+    public void setFromDate(LocalDate fromDate) {
+        this.fromDate = fromDate;
+    }
+
+    public LocalDate getToDate() {
+        return toDate;
+    }
+
+    public void setToDate(LocalDate toDate) {
+        this.toDate = toDate;
+    }
+
+    @Override
+    public String toString() {
+        return "RoomStatusSegment [id=" + id + ", roomId=" + roomId + ", status=" + status + ", fromDate=" + fromDate
+                + ", toDate=" + toDate + "]";
+    }
+}
@@ -0,0 +1,57 @@
+package com.nsbm.group03.roomManagementService.Entity;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+
+/**
+ * A named, time-bounded lease on a scheduled job, so only one service instance runs it at a time.
+ * Read and written by SchedulerLeaseService with conditional JDBC statements.
+ */
+@Entity
+public class SchedulerLease {
+
+    @Id
+    private String name;
+
+    @Column(nullable = false)
+    private String owner;
+
+    @Column(nullable = false)
+    private LocalDateTime leasedUntil;
+
+    public SchedulerLease() {
+    }
+
+    public SchedulerLease(String name, String owner, LocalDateTime leasedUntil) {
+        this.name = name;
+        this.owner = owner;
+        this.leasedUntil = leasedUntil;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getOwner() {
+        return owner;
+    }
+
+    public void setOwner(String owner) {
+        this.owner = owner;
+    }
+
+    public LocalDateTime getLeasedUntil() {
+        return leasedUntil;
+    }
+
+    public void setLeasedUntil(LocalDateTime leasedUntil) {
+        this.leasedUntil = leasedUntil;
+    }
+}
@@ -0,0 +1,77 @@
+package com.nsbm.group03.roomManagementService.Entity;
+
+import java.security.SecureRandom;
+import java.util.UUID;
+
+/**
+ * UUIDv7 style identifiers: 48 bits of Unix milliseconds, then a 12 bit counter, then random bits.
+ * Ids created later compare greater, both as text and as the BINARY(16) they are stored as, so
+ * inserts append to the right edge of the primary key and of every index that ends with the id.
+ * Within one millisecond the counter keeps ids increasing; when it runs out the timestamp is
+ * borrowed from the next millisecond.
+ */
+public final class TimeOrderedId {
+
+    private static final SecureRandom RANDOM = new SecureRandom();
+    private static final int COUNTER_BITS = 12;
+    private static final long COUNTER_MAX = (1L << COUNTER_BITS) - 1;
+
+    private static long lastMillis;
+    private static long counter;
+
+    private TimeOrderedId() {
+    }
+
+    /**
+     * A new id in canonical UUID text form.
+     */
+    public static String next() {
+        long millis;
+        long sequence;
+        synchronized (TimeOrderedId.class) {
+            millis = Math.max(System.currentTimeMillis(), lastMillis);
+            if (millis == lastMillis) {
+                if (++counter > COUNTER_MAX) {
+                    millis++;
+                    counter = 0;
+                }
+            } else {
+                // start low in the range so bursts in one millisecond rarely overflow
+                counter = RANDOM.nextInt(1 << (COUNTER_BITS - 2));
+            }
+            lastMillis = millis;
+            sequence = counter;
+        }
+        long high = (millis << 16) | 0x7000L | sequence;
+        long low = (RANDOM.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(high, low).toString();
+    }
+
+    /**
+     * The 16 bytes of an id in text form, as stored in BINARY(16) columns.
+     */
+    public static byte[] toBytes(String id) {
+        UUID uuid = UUID.fromString(id);
+        byte[] bytes = new byte[16];
+        long high = uuid.getMostSignificantBits();
+        long low = uuid.getLeastSignificantBits();
+        for (int i = 0; i < 8; i++) {
+            bytes[i] = (byte) (high >>> (56 - 8 * i));
+            bytes[8 + i] = (byte) (low >>> (56 - 8 * i));
+        }
+        return bytes;
+    }
+
+    /**
+     * The text form of an id read from a BINARY(16) column.
+     */
+    public static String fromBytes(byte[] bytes) {
+        long high = 0;
+        long low = 0;
+        for (int i = 0; i < 8; i++) {
+            high = (high << 8) | (bytes[i] & 0xFF);
+            low = (low << 8) | (bytes[8 + i] & 0xFF);
+        }
+        return new UUID(high, low).toString();
+    }
+}
@@ -0,0 +1,54 @@
+package com.nsbm.group03.roomManagementService.Entity;
+
+import org.hibernate.type.descriptor.WrapperOptions;
+import org.hibernate.type.descriptor.java.AbstractClassJavaType;
+
+/**
+ * Hibernate type for a UUID kept as text in Java and stored in a BINARY(16) column.
+ * Used with @JdbcTypeCode(SqlTypes.BINARY); unlike an AttributeConverter it is allowed on ids.
+ */
+public class UuidBinaryJavaType extends AbstractClassJavaType<String> {
+
+    public UuidBinaryJavaType() {
+        super(String.class);
+    }
+
+    @Override
+    public String toString(String value) {
+        return value;
+    }
+
+    @Override
+    public String fromString(CharSequence string) {
+        return string != null ? string.toString() : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <X> X unwrap(String value, Class<X> type, WrapperOptions options) {
+        if (value == null) {
+            return null;
+        }
+        if (byte[].class.equals(type)) {
+            return (X) TimeOrderedId.toBytes(value);
+        }
+        if (String.class.equals(type)) {
+            return (X) value;
+        }
+        throw unknownUnwrap(type);
+    }
+
+    @Override
+    public <X> String wrap(X value, WrapperOptions options) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof byte[] bytes) {
+            return TimeOrderedId.fromBytes(bytes);
+        }
+        if (value instanceof String string) {
+            return string;
+        }
+        throw unknownWrap(value.getClass());
+    }
+}
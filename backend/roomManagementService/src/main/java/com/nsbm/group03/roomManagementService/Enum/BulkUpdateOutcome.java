@@ -0,0 +1,7 @@
+package com.nsbm.group03.roomManagementService.Enum;
+
+public enum BulkUpdateOutcome {
+    UPDATED,
+    ROOM_NOT_FOUND,
+    INVALID
+}
@@ -0,0 +1,23 @@
+package com.nsbm.group03.roomManagementService.Enum;
+
+public enum ImageVariant {
+    THUMBNAIL(320, 0.75f),
+    CARD(800, 0.8f),
+    FULL(0, 0f); // the original file
+
+    private final int width;
+    private final float quality;
+
+    ImageVariant(int width, float quality) {
+        this.width = width;
+        this.quality = quality;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public float getQuality() {
+        return quality;
+    }
+}
@@ -0,0 +1,8 @@
+package com.nsbm.group03.roomManagementService.Enum;
+
+public enum OccupancyGroupBy {
+    DAY,
+    WEEK,  // ISO weeks, Monday to Sunday
+    MONTH,
+    RANGE  // the whole requested range as one period
+}
@@ -0,0 +1,40 @@
+package com.nsbm.group03.roomManagementService.Exception;
+
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+
+/**
+ * A compare-and-set status change that did not apply: the room was not in the expected status,
+ * or it kept being changed concurrently until the retries ran out (currentStatus is then null).
+ */
+public class RoomStatusConflictException extends RuntimeException {
+
+    private final String roomNumber;
+    private final RoomStatus expectedStatus;
+    private final RoomStatus currentStatus;
+
+    public RoomStatusConflictException(String roomNumber, RoomStatus expectedStatus, RoomStatus currentStatus) {
+        super("Room " + roomNumber + " is " + currentStatus + ", expected " + expectedStatus);
+        this.roomNumber = roomNumber;
+        this.expectedStatus = expectedStatus;
+        this.currentStatus = currentStatus;
+    }
+
+    public RoomStatusConflictException(String roomNumber, RoomStatus expectedStatus, Throwable cause) {
+        super("Room " + roomNumber + " kept changing concurrently, giving up", cause);
+        this.roomNumber = roomNumber;
+        this.expectedStatus = expectedStatus;
+        this.currentStatus = null;
+    }
+
+    public String getRoomNumber() {
+        return roomNumber;
+    }
+
+    public RoomStatus getExpectedStatus() {
+        return expectedStatus;
+    }
+
+    public RoomStatus getCurrentStatus() {
+        return currentStatus;
+    }
+}
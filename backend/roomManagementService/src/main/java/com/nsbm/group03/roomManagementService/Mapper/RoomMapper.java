@@ -1,5 +1,6 @@
 package com.nsbm.group03.roomManagementService.Mapper;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -7,10 +8,13 @@ import com.nsbm.group03.roomManagementService.Dto.RoomAvailabilityDTO;
 import com.nsbm.group03.roomManagementService.Dto.RoomCreateDTO;
 import com.nsbm.group03.roomManagementService.Dto.RoomDTO;
 import com.nsbm.group03.roomManagementService.Dto.RoomStatusHistoryDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusSnapshotDTO;
 import com.nsbm.group03.roomManagementService.Dto.RoomStatusUpdateDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomSummaryProjection;
 import com.nsbm.group03.roomManagementService.Entity.Room;
 import com.nsbm.group03.roomManagementService.Entity.RoomStatusHistory;
 import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Service.RoomAvailabilityCalendar.CalendarRoom;
 
 // Mapper class to convert between Room entity and various DTOs
 public class RoomMapper {
@@ -39,6 +43,16 @@ public class RoomMapper {
         );
     }
 
+    // Room summary projection → RoomAvailabilityDTO
+    public static RoomAvailabilityDTO toRoomAvailabilityDTO(RoomSummaryProjection room) {
+        if (room == null) return null;
+        return new RoomAvailabilityDTO(
+            room.getRoomNumber(),
+            room.getRoomType(),
+            room.getPricePerNight()
+        );
+    }
+
     // RoomDTO → Entity
     public static Room toEntity(RoomDTO dto) {
         if (dto == null) return null;
@@ -111,6 +125,29 @@ public class RoomMapper {
         );
     }
 
+    // ========== CALENDAR MAPPINGS ==========
+
+    // Calendar room → RoomAvailabilityDTO
+    public static RoomAvailabilityDTO toRoomAvailabilityDTO(CalendarRoom room) {
+        if (room == null) return null;
+        return new RoomAvailabilityDTO(
+            room.getRoomNumber(),
+            room.getRoomType(),
+            room.getPricePerNight()
+        );
+    }
+
+    // Calendar room + day cell → RoomStatusSnapshotDTO
+    public static RoomStatusSnapshotDTO toRoomStatusSnapshotDTO(CalendarRoom room, LocalDate date, RoomStatus status) {
+        if (room == null) return null;
+        return new RoomStatusSnapshotDTO(
+            room.getRoomId(),
+            room.getRoomNumber(),
+            date,
+            status
+        );
+    }
+
     // ========== BATCH MAPPINGS ==========
 
     // Batch mapping: List<Room> → List<RoomDTO>
@@ -128,6 +165,19 @@ public class RoomMapper {
     }
 
     // Batch mapping: List<RoomStatusHistory> → List<RoomStatusHistoryDTO>
+    // One day of a compacted segment → RoomStatusHistoryDTO (no id or change details survive compaction)
+    public static RoomStatusHistoryDTO toRoomStatusHistoryDTO(String roomId, String roomNumber, RoomStatus status, LocalDate date) {
+        return new RoomStatusHistoryDTO(
+            null,
+            roomNumber,
+            roomId,
+            date,
+            status,
+            null,
+            null
+        );
+    }
+
     public static List<RoomStatusHistoryDTO> toRoomStatusHistoryDTOList(List<RoomStatusHistory> statusHistories) {
         return statusHistories.stream()
             .map(RoomMapper::toRoomStatusHistoryDTO)
@@ -0,0 +1,34 @@
+package com.nsbm.group03.roomManagementService.Repository;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.nsbm.group03.roomManagementService.Entity.RoomCurrentStatus;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+
+@Repository
+public interface RoomCurrentStatusRepository extends JpaRepository<RoomCurrentStatus, String> {
+
+    // Point the projection of a room at a newer history row, returns 0 when the room has no row yet
+    @Modifying
+    @Query("UPDATE RoomCurrentStatus cs SET cs.historyId = :historyId, cs.date = :date, cs.status = :status, " +
+           "cs.changedBy = :changedBy, cs.changedAt = :changedAt WHERE cs.roomId = :roomId")
+    int updateCurrentStatus(@Param("roomId") String roomId,
+                            @Param("historyId") String historyId,
+                            @Param("date") LocalDate date,
+                            @Param("status") RoomStatus status,
+                            @Param("changedBy") String changedBy,
+                            @Param("changedAt") LocalDateTime changedAt);
+
+    // Room ids among the given ones that already have a projection row
+    @Query("SELECT cs.roomId FROM RoomCurrentStatus cs WHERE cs.roomId IN :roomIds")
+    List<String> findExistingRoomIds(@Param("roomIds") Collection<String> roomIds);
+}
@@ -0,0 +1,19 @@
+package com.nsbm.group03.roomManagementService.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import com.nsbm.group03.roomManagementService.Entity.RoomOccupancyDaily;
+
+@Repository
+public interface RoomOccupancyDailyRepository extends JpaRepository<RoomOccupancyDaily, Long> {
+
+    // Cube cells within a date window (inclusive), at most one per date, room type and status
+    @Query("SELECT o FROM RoomOccupancyDaily o WHERE o.date BETWEEN :from AND :to ORDER BY o.date ASC")
+    List<RoomOccupancyDaily> findCellsBetween(@Param("from") LocalDate from, @Param("to") LocalDate to);
+}
@@ -1,8 +1,16 @@
 package com.nsbm.group03.roomManagementService.Repository;
 
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.nsbm.group03.roomManagementService.Dto.RoomDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomSummaryProjection;
+import com.nsbm.group03.roomManagementService.Dto.TypeStatusCountProjection;
 import com.nsbm.group03.roomManagementService.Entity.Room;
 import com.nsbm.group03.roomManagementService.Enum.RoomType;
 
@@ -10,10 +18,42 @@ import com.nsbm.group03.roomManagementService.Enum.RoomType;
 @Repository
 public interface RoomRepository extends JpaRepository<Room, String> {
 
+    // Read endpoints select straight into DTOs: only the returned columns, no Room entity in the persistence context
+    String ROOM_DTO_SELECT =
+            "SELECT new com.nsbm.group03.roomManagementService.Dto.RoomDTO(" +
+            "r.roomNumber, r.roomType, r.pricePerNight, r.capacity, r.status) FROM Room r ";
+
     // Find room by room number
     Room findByRoomNumber(String roomNumber);
 
+    // Find all rooms with the given room numbers in one IN query
+    List<Room> findByRoomNumberIn(Collection<String> roomNumbers);
+
     long countByRoomType(RoomType type);
 
+    // Every room as a RoomDTO
+    @Query(ROOM_DTO_SELECT)
+    List<RoomDTO> findAllRoomDTOs();
+
+    // One room as a RoomDTO, null when there is no such room
+    @Query(ROOM_DTO_SELECT + "WHERE r.roomNumber = :roomNumber")
+    RoomDTO findRoomDTOByRoomNumber(@Param("roomNumber") String roomNumber);
+
+    // Resolve a room number to its id, null when there is no such room
+    @Query("SELECT r.roomId FROM Room r WHERE r.roomNumber = :roomNumber")
+    String findRoomIdByRoomNumber(@Param("roomNumber") String roomNumber);
+
+    // Id and listing columns of every room
+    @Query("SELECT r.roomId AS roomId, r.roomNumber AS roomNumber, r.roomType AS roomType, " +
+           "r.pricePerNight AS pricePerNight, r.capacity AS capacity FROM Room r")
+    List<RoomSummaryProjection> findAllSummaries();
+
+    // Count rooms per type and current status, in one statement
+    @Query("SELECT r.roomType AS roomType, cs.status AS status, COUNT(r) AS rooms " +
+           "FROM Room r " +
+           "LEFT JOIN RoomCurrentStatus cs ON cs.roomId = r.roomId " +
+           "GROUP BY r.roomType, cs.status")
+    List<TypeStatusCountProjection> countRoomsByTypeAndLatestStatus();
+
 }
 
@@ -1,21 +1,53 @@
 package com.nsbm.group03.roomManagementService.Repository;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import com.nsbm.group03.roomManagementService.Dto.RoomAvailabilityDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomDateProjection;
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusCellProjection;
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusHistoryDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusSnapshotDTO;
+import com.nsbm.group03.roomManagementService.Dto.StatusCountProjection;
 import com.nsbm.group03.roomManagementService.Entity.Room;
 import com.nsbm.group03.roomManagementService.Entity.RoomStatusHistory;
 import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
 
+import jakarta.persistence.QueryHint;
 
 @Repository
 public interface RoomStatusHistoryRepository extends JpaRepository<RoomStatusHistory, String> {
 
+    // Paged and streamed reads select straight into DTOs, so no entity is ever held by the persistence context
+    String HISTORY_DTO_SELECT =
+            "SELECT new com.nsbm.group03.roomManagementService.Dto.RoomStatusHistoryDTO(" +
+            "rsh.id, r.roomNumber, r.roomId, rsh.date, rsh.status, rsh.changedBy, rsh.changedAt) " +
+            "FROM RoomStatusHistory rsh JOIN rsh.room r ";
+
+    String HISTORY_KEYSET_ORDER = " ORDER BY rsh.date DESC, rsh.changedAt DESC, rsh.id DESC";
+
+    // Rows strictly after the cursor (date, changedAt, id) in descending order
+    String HISTORY_AFTER_CURSOR =
+            " AND (rsh.date < :date OR (rsh.date = :date AND (rsh.changedAt < :changedAt" +
+            " OR (rsh.changedAt = :changedAt AND rsh.id < :id))))";
+
+    // Keeps only a room's latest row on :date (greatest changedAt, ties broken by the greatest id), the row
+    // the calendar resolves to: an anti-join against any later row of the same room and date
+    String LATEST_ON_DATE =
+            " AND NOT EXISTS (SELECT 1 FROM RoomStatusHistory later WHERE later.room = rsh.room AND later.date = :date" +
+            " AND (later.changedAt > rsh.changedAt OR (later.changedAt = rsh.changedAt AND later.id > rsh.id)))";
+
     // Find all status history for a specific room ordered by date descending
     List<RoomStatusHistory> findByRoomOrderByDateDesc(Room room);
 
@@ -56,4 +88,101 @@ public interface RoomStatusHistoryRepository extends JpaRepository<RoomStatusHis
     // Find all rooms in maintenance
     List<RoomStatusHistory> findByStatusOrderByDateDesc(RoomStatus status);
 
+    // Count history rows per status for a specific date, without loading any entity
+    @Query("SELECT rsh.status AS status, COUNT(rsh) AS rows FROM RoomStatusHistory rsh WHERE rsh.date = :date GROUP BY rsh.status")
+    List<StatusCountProjection> countByStatusForDate(@Param("date") LocalDate date);
+
+    // Find (room, date, status) cells within a date window, oldest change first so later changes win
+    @Query("SELECT rsh.room.roomId AS roomId, rsh.date AS date, rsh.status AS status FROM RoomStatusHistory rsh " +
+           "WHERE rsh.date BETWEEN :startDate AND :endDate ORDER BY rsh.changedAt ASC, rsh.id ASC")
+    List<RoomStatusCellProjection> findStatusCellsBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // Find the (room, date) pairs that already have history within a date window
+    @Query("SELECT DISTINCT rsh.room.roomId AS roomId, rsh.date AS date FROM RoomStatusHistory rsh " +
+           "WHERE rsh.date BETWEEN :startDate AND :endDate")
+    List<RoomDateProjection> findRoomDatesBetween(@Param("startDate") LocalDate startDate, @Param("endDate") LocalDate endDate);
+
+    // Same as above, restricted to the given rooms
+    @Query("SELECT DISTINCT rsh.room.roomId AS roomId, rsh.date AS date FROM RoomStatusHistory rsh " +
+           "WHERE rsh.room.roomId IN :roomIds AND rsh.date BETWEEN :startDate AND :endDate")
+    List<RoomDateProjection> findRoomDatesBetweenForRooms(@Param("roomIds") Collection<String> roomIds,
+                                                          @Param("startDate") LocalDate startDate,
+                                                          @Param("endDate") LocalDate endDate);
+
+    // Rooms with no history row on the given day (anti-join, one index seek per room)
+    @Query("SELECT r.roomId FROM Room r WHERE NOT EXISTS " +
+           "(SELECT 1 FROM RoomStatusHistory rsh WHERE rsh.room = r AND rsh.date = :date)")
+    List<String> findRoomIdsWithoutHistoryOn(@Param("date") LocalDate date);
+
+    // A room's (date, status) cells before a date, in the order later changes win
+    @Query("SELECT rsh.room.roomId AS roomId, rsh.date AS date, rsh.status AS status FROM RoomStatusHistory rsh " +
+           "WHERE rsh.room.roomId = :roomId AND rsh.date < :beforeDate ORDER BY rsh.date ASC, rsh.changedAt ASC, rsh.id ASC")
+    List<RoomStatusCellProjection> findRoomCellsBefore(@Param("roomId") String roomId, @Param("beforeDate") LocalDate beforeDate);
+
+    // ---------- DTO reads for the list endpoints ----------
+
+    // Full history of a room, newest day first
+    @Query(HISTORY_DTO_SELECT + "WHERE r.roomId = :roomId ORDER BY rsh.date DESC")
+    List<RoomStatusHistoryDTO> findHistoryForRoom(@Param("roomId") String roomId);
+
+    // A room's history on one date
+    @Query(HISTORY_DTO_SELECT + "WHERE r.roomId = :roomId AND rsh.date = :date")
+    List<RoomStatusHistoryDTO> findHistoryForRoomOnDate(@Param("roomId") String roomId, @Param("date") LocalDate date);
+
+    // A room's history between two dates, newest day first
+    @Query(HISTORY_DTO_SELECT + "WHERE r.roomId = :roomId AND rsh.date BETWEEN :startDate AND :endDate ORDER BY rsh.date DESC")
+    List<RoomStatusHistoryDTO> findHistoryForRoomBetween(@Param("roomId") String roomId,
+                                                         @Param("startDate") LocalDate startDate,
+                                                         @Param("endDate") LocalDate endDate);
+
+    // Every room's history on a date, newest change first
+    @Query(HISTORY_DTO_SELECT + "WHERE rsh.date = :date ORDER BY rsh.changedAt DESC")
+    List<RoomStatusHistoryDTO> findHistoryForDate(@Param("date") LocalDate date);
+
+    // Rooms whose latest row on a date is in a status, ordered by room number
+    @Query("SELECT new com.nsbm.group03.roomManagementService.Dto.RoomStatusSnapshotDTO(r.roomId, r.roomNumber, rsh.date, rsh.status) " +
+           "FROM RoomStatusHistory rsh JOIN rsh.room r WHERE rsh.status = :status AND rsh.date = :date" +
+           LATEST_ON_DATE + " ORDER BY r.roomNumber")
+    List<RoomStatusSnapshotDTO> findStatusSnapshotsByDate(@Param("status") RoomStatus status, @Param("date") LocalDate date);
+
+    // Rooms whose latest row on a date is AVAILABLE, ordered by room number
+    @Query("SELECT new com.nsbm.group03.roomManagementService.Dto.RoomAvailabilityDTO(r.roomNumber, r.roomType, r.pricePerNight) " +
+           "FROM RoomStatusHistory rsh JOIN rsh.room r WHERE rsh.date = :date AND rsh.status = 'AVAILABLE'" +
+           LATEST_ON_DATE + " ORDER BY r.roomNumber")
+    List<RoomAvailabilityDTO> findAvailableRoomSummariesByDate(@Param("date") LocalDate date);
+
+    // ---------- keyset pages and streams ----------
+
+    // First page of a room's history, newest first
+    @Query(HISTORY_DTO_SELECT + "WHERE r.roomId = :roomId" + HISTORY_KEYSET_ORDER)
+    List<RoomStatusHistoryDTO> findHistoryPageForRoom(@Param("roomId") String roomId, Limit limit);
+
+    // Next page of a room's history after the cursor
+    @Query(HISTORY_DTO_SELECT + "WHERE r.roomId = :roomId" + HISTORY_AFTER_CURSOR + HISTORY_KEYSET_ORDER)
+    List<RoomStatusHistoryDTO> findHistoryPageForRoomAfter(@Param("roomId") String roomId,
+                                                           @Param("date") LocalDate date,
+                                                           @Param("changedAt") LocalDateTime changedAt,
+                                                           @Param("id") String id,
+                                                           Limit limit);
+
+    // First page of every room's history on a date, newest change first
+    @Query(HISTORY_DTO_SELECT + "WHERE rsh.date = :date" + HISTORY_KEYSET_ORDER)
+    List<RoomStatusHistoryDTO> findHistoryPageForDate(@Param("date") LocalDate date, Limit limit);
+
+    // Next page of every room's history on a date after the cursor (the cursor date equals :date)
+    @Query(HISTORY_DTO_SELECT + "WHERE rsh.date = :date" + HISTORY_AFTER_CURSOR + HISTORY_KEYSET_ORDER)
+    List<RoomStatusHistoryDTO> findHistoryPageForDateAfter(@Param("date") LocalDate date,
+                                                           @Param("changedAt") LocalDateTime changedAt,
+                                                           @Param("id") String id,
+                                                           Limit limit);
+
+    // Whole history of a room, read from the driver in fetch-size chunks; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(HISTORY_DTO_SELECT + "WHERE r.roomId = :roomId" + HISTORY_KEYSET_ORDER)
+    Stream<RoomStatusHistoryDTO> streamHistoryForRoom(@Param("roomId") String roomId);
+
+    // Every room's history on a date, read in fetch-size chunks; must be consumed inside a transaction
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(HISTORY_DTO_SELECT + "WHERE rsh.date = :date" + HISTORY_KEYSET_ORDER)
+    Stream<RoomStatusHistoryDTO> streamHistoryForDate(@Param("date") LocalDate date);
 }
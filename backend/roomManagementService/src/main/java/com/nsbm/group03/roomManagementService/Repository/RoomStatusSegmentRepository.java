@@ -0,0 +1,32 @@
+package com.nsbm.group03.roomManagementService.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.nsbm.group03.roomManagementService.Entity.RoomStatusSegment;
+
+@Repository
+public interface RoomStatusSegmentRepository extends JpaRepository<RoomStatusSegment, Long> {
+
+    // Segments of a room that overlap [startDate, endDate], newest first
+    @Query("SELECT s FROM RoomStatusSegment s WHERE s.roomId = :roomId " +
+           "AND s.fromDate <= :endDate AND s.toDate >= :startDate ORDER BY s.fromDate DESC")
+    List<RoomStatusSegment> findOverlapping(@Param("roomId") String roomId,
+                                            @Param("startDate") LocalDate startDate,
+                                            @Param("endDate") LocalDate endDate);
+
+    // The most recent segment of a room, the only one a new run can extend
+    RoomStatusSegment findTopByRoomIdOrderByToDateDesc(String roomId);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM RoomStatusSegment s WHERE s.roomId = :roomId")
+    int deleteByRoomId(@Param("roomId") String roomId);
+}
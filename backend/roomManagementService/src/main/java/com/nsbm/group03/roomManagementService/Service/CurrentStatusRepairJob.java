@@ -0,0 +1,98 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Reconciles the room_current_status projection with room_status_history.
+ * The latest row of a room is the one with the greatest changed_at, ties broken by the greatest id,
+ * the same rule the incremental writers follow.
+ * Only rows that differ are touched, all in one transaction: stale rows are updated, missing ones inserted
+ * and rows of rooms without history deleted, so readers never see the projection empty. A stale row is only
+ * overwritten while it is not newer than the history row read, so a status written meanwhile is kept.
+ * Runs once at startup (covers databases that predate the projection) and nightly as a repair pass.
+ */
+@Component
+public class CurrentStatusRepairJob {
+
+    // latest history row of every room whose projection row is missing or points at another row
+    private static final String DIFF_SQL =
+            "SELECT h.room_id, h.id, h.date, h.status, h.changed_by, h.changed_at, c.room_id " +
+            "FROM room_status_history h LEFT JOIN room_current_status c ON c.room_id = h.room_id " +
+            "WHERE h.id = (SELECT MAX(h2.id) FROM room_status_history h2 WHERE h2.room_id = h.room_id " +
+            "    AND h2.changed_at = (SELECT MAX(h3.changed_at) FROM room_status_history h3 WHERE h3.room_id = h.room_id)) " +
+            "AND (c.room_id IS NULL OR c.history_id <> h.id)";
+
+    private static final String UPDATE_SQL =
+            "UPDATE room_current_status SET history_id = ?, date = ?, status = ?, changed_by = ?, changed_at = ? " +
+            "WHERE room_id = ? AND changed_at <= ?";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO room_current_status (history_id, date, status, changed_by, changed_at, room_id) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String DELETE_ORPHANS_SQL =
+            "DELETE FROM room_current_status WHERE NOT EXISTS " +
+            "(SELECT 1 FROM room_status_history h WHERE h.room_id = room_current_status.room_id)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public CurrentStatusRepairJob(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    @Scheduled(cron = "${room.current-status.repair-cron:0 30 0 * * ?}")
+    public void scheduledRebuild() {
+        rebuild();
+    }
+
+    /**
+     * Reconcile the projection; returns the number of rows updated, inserted or deleted.
+     */
+    public int rebuild() {
+        long started = System.currentTimeMillis();
+        int[] counts = transactionTemplate.execute(tx -> reconcile());
+        System.out.println("[CurrentStatus] repaired " + counts[0] + " stale, " + counts[1] + " missing and "
+                + counts[2] + " orphaned rows in " + (System.currentTimeMillis() - started) + " ms");
+        return counts[0] + counts[1] + counts[2];
+    }
+
+    private int[] reconcile() {
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        jdbcTemplate.query(DIFF_SQL, rs -> {
+            // history_id, date, status, changed_by, changed_at, room_id (and changed_at again for the update guard)
+            byte[] roomId = rs.getBytes(1);
+            Timestamp changedAt = rs.getTimestamp(6);
+            if (rs.getBytes(7) == null) {
+                inserts.add(new Object[] { rs.getBytes(2), rs.getDate(3), rs.getString(4), rs.getString(5), changedAt, roomId });
+            } else {
+                updates.add(new Object[] { rs.getBytes(2), rs.getDate(3), rs.getString(4), rs.getString(5), changedAt, roomId, changedAt });
+            }
+        });
+        int updated = 0;
+        if (!updates.isEmpty()) {
+            for (int rows : jdbcTemplate.batchUpdate(UPDATE_SQL, updates)) {
+                updated += Math.max(rows, 0);
+            }
+        }
+        if (!inserts.isEmpty()) jdbcTemplate.batchUpdate(INSERT_SQL, inserts);
+        int deleted = jdbcTemplate.update(DELETE_ORPHANS_SQL);
+        return new int[] { updated, inserts.size(), deleted };
+    }
+}
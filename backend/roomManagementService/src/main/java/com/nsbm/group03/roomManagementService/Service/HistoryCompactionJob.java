@@ -0,0 +1,156 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusCellProjection;
+import com.nsbm.group03.roomManagementService.Entity.RoomCurrentStatus;
+import com.nsbm.group03.roomManagementService.Entity.RoomStatusSegment;
+import com.nsbm.group03.roomManagementService.Entity.TimeOrderedId;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Repository.RoomCurrentStatusRepository;
+import com.nsbm.group03.roomManagementService.Repository.RoomStatusHistoryRepository;
+import com.nsbm.group03.roomManagementService.Repository.RoomStatusSegmentRepository;
+
+/**
+ * Folds room status history older than the retention window into run-length segments.
+ * For every day the effective status is the latest change of that day (greatest changedAt, then id);
+ * consecutive days with the same status become one RoomStatusSegment and the folded rows are deleted.
+ * Each room is compacted in its own short transaction.
+ *
+ * The row the current status projection points at is never folded, and days already covered by a
+ * segment are left as live rows (a late manual change), which take precedence over segments on read.
+ * The nightly run takes a lease so only one instance compacts.
+ */
+@Component
+public class HistoryCompactionJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(HistoryCompactionJob.class);
+
+    static final String LEASE_NAME = "room-history-compaction";
+
+    private static final String ROOMS_WITH_OLD_HISTORY_SQL =
+            "SELECT DISTINCT room_id FROM room_status_history WHERE date < ?";
+
+    private static final String DELETE_FOLDED_SQL =
+            "DELETE FROM room_status_history WHERE room_id = ? AND date >= ? AND date < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final RoomStatusHistoryRepository statusHistoryRepository;
+    private final RoomStatusSegmentRepository segmentRepository;
+    private final RoomCurrentStatusRepository currentStatusRepository;
+    private final SchedulerLeaseService leaseService;
+    private final int retainDays;
+    private final Duration leaseDuration;
+
+    public HistoryCompactionJob(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                RoomStatusHistoryRepository statusHistoryRepository,
+                                RoomStatusSegmentRepository segmentRepository,
+                                RoomCurrentStatusRepository currentStatusRepository,
+                                SchedulerLeaseService leaseService,
+                                @Value("${room.history.compaction.retain-days:90}") int retainDays,
+                                @Value("${room.history.compaction.lease-minutes:60}") int leaseMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.statusHistoryRepository = statusHistoryRepository;
+        this.segmentRepository = segmentRepository;
+        this.currentStatusRepository = currentStatusRepository;
+        this.leaseService = leaseService;
+        this.retainDays = retainDays;
+        this.leaseDuration = Duration.ofMinutes(leaseMinutes);
+    }
+
+    @Scheduled(cron = "${room.history.compaction.cron:0 0 1 * * ?}")
+    public void scheduledCompaction() {
+        if (!leaseService.tryAcquire(LEASE_NAME, leaseDuration)) {
+            logger.info("Compaction skipped, another instance holds the lease");
+            return;
+        }
+        try {
+            compact();
+        } finally {
+            leaseService.release(LEASE_NAME);
+        }
+    }
+
+    /**
+     * Compact every room's history older than the retention window; returns the number of rows folded.
+     */
+    public int compact() {
+        long started = System.currentTimeMillis();
+        LocalDate cutoff = LocalDate.now().minusDays(retainDays);
+        List<String> roomIds = jdbcTemplate.queryForList(ROOMS_WITH_OLD_HISTORY_SQL, byte[].class, Date.valueOf(cutoff))
+                .stream().map(TimeOrderedId::fromBytes).toList();
+
+        int folded = 0;
+        for (String roomId : roomIds) {
+            Integer rows = transactionTemplate.execute(status -> compactRoom(roomId, cutoff));
+            folded += rows != null ? rows : 0;
+        }
+        logger.info("Folded {} history rows of {} rooms before {} in {} ms",
+                folded, roomIds.size(), cutoff, System.currentTimeMillis() - started);
+        return folded;
+    }
+
+    private int compactRoom(String roomId, LocalDate cutoff) {
+        // keep the latest row live so the current status projection keeps pointing at an existing row
+        LocalDate before = currentStatusRepository.findById(roomId)
+                .map(RoomCurrentStatus::getDate)
+                .filter(date -> date.isBefore(cutoff))
+                .orElse(cutoff);
+
+        RoomStatusSegment last = segmentRepository.findTopByRoomIdOrderByToDateDesc(roomId);
+        LocalDate compactedUpTo = last != null ? last.getToDate() : null;
+
+        // cells arrive ordered by date then change time, so the last put per date is the effective status
+        Map<LocalDate, RoomStatus> days = new LinkedHashMap<>();
+        for (RoomStatusCellProjection cell : statusHistoryRepository.findRoomCellsBefore(roomId, before)) {
+            if (compactedUpTo == null || cell.getDate().isAfter(compactedUpTo)) {
+                days.put(cell.getDate(), cell.getStatus());
+            }
+        }
+        if (days.isEmpty()) {
+            return 0;
+        }
+
+        List<RoomStatusSegment> segments = new ArrayList<>();
+        RoomStatusSegment run = null;
+        for (Map.Entry<LocalDate, RoomStatus> day : days.entrySet()) {
+            if (run == null && last != null && continues(last, day.getKey(), day.getValue())) {
+                run = last;
+            }
+            if (run != null && continues(run, day.getKey(), day.getValue())) {
+                run.setToDate(day.getKey());
+            } else {
+                run = new RoomStatusSegment(roomId, day.getValue(), day.getKey(), day.getKey());
+            }
+            if (segments.isEmpty() || segments.get(segments.size() - 1) != run) {
+                segments.add(run);
+            }
+        }
+        segmentRepository.saveAll(segments);
+
+        LocalDate firstDay = days.keySet().iterator().next();
+        return jdbcTemplate.update(DELETE_FOLDED_SQL, TimeOrderedId.toBytes(roomId), Date.valueOf(firstDay), Date.valueOf(before));
+    }
+
+    private static boolean continues(RoomStatusSegment segment, LocalDate date, RoomStatus status) {
+        return segment.getStatus() == status && segment.getToDate().plusDays(1).equals(date);
+    }
+}
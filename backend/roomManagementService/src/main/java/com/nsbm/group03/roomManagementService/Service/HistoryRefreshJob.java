@@ -0,0 +1,216 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.nsbm.group03.roomManagementService.Dto.HistoryGenerationResult;
+import com.nsbm.group03.roomManagementService.Entity.Room;
+import com.nsbm.group03.roomManagementService.Repository.RoomRepository;
+import com.nsbm.group03.roomManagementService.Repository.RoomStatusHistoryRepository;
+import com.zaxxer.hikari.HikariDataSource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+/**
+ * Nightly incremental refresh of future room status history.
+ * Only the last room.history.refresh.recheck-days days of the horizon are looked at: the day exposed since
+ * the previous run plus a few before it, so a missed run is caught up. For each of those days an anti-join
+ * finds the rooms without history on it, and exactly those (room, day) pairs are generated; rows written
+ * beyond the horizon or on other days of the window do not hide a gap.
+ * Rooms are split into chunks written in parallel on virtual threads, each chunk in its own
+ * transaction, with concurrency capped below the connection pool size so requests keep connections.
+ * A database lease makes sure only one instance refreshes when several are deployed. The other instances
+ * wait for the leader to fill the new horizon day (or for its lease to run out) before re-anchoring their
+ * in-memory calendars, so they do not index the day while it is still being written.
+ */
+@Component
+public class HistoryRefreshJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(HistoryRefreshJob.class);
+
+    static final String LEASE_NAME = "room-history-refresh";
+
+    private final RoomRepository roomRepository;
+    private final RoomStatusHistoryRepository statusHistoryRepository;
+    private final RoomHistoryGenerator historyGenerator;
+    private final RoomAvailabilityCalendar availabilityCalendar;
+    private final SchedulerLeaseService leaseService;
+    private final int daysAhead;
+    private final int recheckDays;
+    private final int chunkSize;
+    private final int parallelism;
+    private final Duration leaseDuration;
+
+    // set on an instance that lost the lease: the horizon day it waits for, and until when
+    private volatile LocalDate awaitedHorizon;
+    private volatile Instant awaitDeadline;
+
+    private final Timer durationTimer;
+    private final Counter rowsCounter;
+    private final Counter skippedCounter;
+
+    public HistoryRefreshJob(RoomRepository roomRepository,
+                             RoomStatusHistoryRepository statusHistoryRepository,
+                             RoomHistoryGenerator historyGenerator,
+                             RoomAvailabilityCalendar availabilityCalendar,
+                             SchedulerLeaseService leaseService,
+                             DataSource dataSource,
+                             MeterRegistry meterRegistry,
+                             @Value("${room.history.refresh.days-ahead:30}") int daysAhead,
+                             @Value("${room.history.refresh.recheck-days:7}") int recheckDays,
+                             @Value("${room.history.refresh.chunk-size:100}") int chunkSize,
+                             @Value("${room.history.refresh.max-parallelism:4}") int maxParallelism,
+                             @Value("${room.history.refresh.lease-minutes:30}") int leaseMinutes) {
+        this.roomRepository = roomRepository;
+        this.statusHistoryRepository = statusHistoryRepository;
+        this.historyGenerator = historyGenerator;
+        this.availabilityCalendar = availabilityCalendar;
+        this.leaseService = leaseService;
+        this.daysAhead = daysAhead;
+        this.recheckDays = Math.max(1, recheckDays);
+        this.chunkSize = chunkSize;
+        // leave half of the pool to request handling
+        this.parallelism = Math.max(1, Math.min(maxParallelism, poolSize(dataSource) / 2));
+        this.leaseDuration = Duration.ofMinutes(leaseMinutes);
+
+        this.durationTimer = Timer.builder("room.history.refresh.duration")
+                .description("Time taken by the incremental history refresh")
+                .register(meterRegistry);
+        this.rowsCounter = Counter.builder("room.history.refresh.rows")
+                .description("History rows generated by the incremental refresh")
+                .register(meterRegistry);
+        this.skippedCounter = Counter.builder("room.history.refresh.skipped")
+                .description("Refresh runs skipped because another instance held the lease")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${room.history.refresh.cron:0 0 0 * * ?}")
+    public void scheduledRefresh() {
+        if (!leaseService.tryAcquire(LEASE_NAME, leaseDuration)) {
+            skippedCounter.increment();
+            logger.info("History refresh skipped, another instance holds the lease");
+            // this instance still has to move its own calendar to the new day, once the leader has written it
+            awaitDeadline = Instant.now().plus(leaseDuration);
+            awaitedHorizon = LocalDate.now().plusDays(daysAhead - 1);
+            return;
+        }
+        try {
+            refresh();
+        } finally {
+            leaseService.release(LEASE_NAME);
+        }
+    }
+
+    /**
+     * On an instance that lost the lease, re-anchor the calendar once every room has history on the new
+     * horizon day, or once the leader's lease has run out (its run finished or failed).
+     */
+    @Scheduled(fixedDelayString = "${room.history.refresh.follower-poll-ms:60000}")
+    public void followLeader() {
+        LocalDate horizon = awaitedHorizon;
+        if (horizon == null) return;
+        boolean complete = statusHistoryRepository.findRoomIdsWithoutHistoryOn(horizon).isEmpty();
+        if (!complete && Instant.now().isBefore(awaitDeadline)) return;
+        awaitedHorizon = null;
+        availabilityCalendar.rebuild();
+    }
+
+    /**
+     * Generate the history missing on the last recheck-days days of the horizon.
+     */
+    public HistoryGenerationResult refresh() {
+        long started = System.nanoTime();
+        LocalDate today = LocalDate.now();
+        LocalDate lastDate = today.plusDays(daysAhead - 1);
+        LocalDate firstDate = lastDate.minusDays(recheckDays - 1);
+        if (firstDate.isBefore(today)) firstDate = today;
+
+        Map<String, List<LocalDate>> missingDates = new LinkedHashMap<>();
+        for (LocalDate date = firstDate; !date.isAfter(lastDate); date = date.plusDays(1)) {
+            for (String roomId : statusHistoryRepository.findRoomIdsWithoutHistoryOn(date)) {
+                missingDates.computeIfAbsent(roomId, id -> new ArrayList<>()).add(date);
+            }
+        }
+        List<Room> pending = missingDates.isEmpty() ? List.of() : roomRepository.findAllById(missingDates.keySet());
+
+        int rows = 0;
+        if (!pending.isEmpty()) {
+            rows = generateInParallel(pending, missingDates);
+        }
+        // re-anchor the in-memory calendar on the new day
+        availabilityCalendar.rebuild();
+
+        long elapsedNanos = System.nanoTime() - started;
+        durationTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        rowsCounter.increment(rows);
+        HistoryGenerationResult result =
+                new HistoryGenerationResult(pending.size(), rows, TimeUnit.NANOSECONDS.toMillis(elapsedNanos));
+        logger.info("Incremental history refresh: {} (parallelism {})", result, parallelism);
+        return result;
+    }
+
+    private int generateInParallel(List<Room> rooms, Map<String, List<LocalDate>> missingDates) {
+        Semaphore permits = new Semaphore(parallelism);
+        List<Future<HistoryGenerationResult>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int from = 0; from < rooms.size(); from += chunkSize) {
+                List<Room> chunk = rooms.subList(from, Math.min(from + chunkSize, rooms.size()));
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return historyGenerator.generateMissing(chunk, missingDates);
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+
+        // a failed chunk rolls back on its own; the next run picks its rooms up again
+        int rows = 0;
+        for (Future<HistoryGenerationResult> future : futures) {
+            try {
+                rows += future.get().getRowsGenerated();
+            } catch (ExecutionException e) {
+                logger.error("History refresh chunk failed, its rooms are retried on the next run", e.getCause());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        return rows;
+    }
+
+    private static int poolSize(DataSource dataSource) {
+        try {
+            if (dataSource.isWrapperFor(HikariDataSource.class)) {
+                return dataSource.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException e) {
+            // fall through to the Hikari default
+        }
+        return 10;
+    }
+}
@@ -0,0 +1,224 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.nsbm.group03.roomManagementService.Entity.TimeOrderedId;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+
+/**
+ * Rebuilds the room_occupancy_daily rollup from room_status_history and room_status_segment.
+ * The date range is processed in windows, each in its own transaction: the window's cells are deleted
+ * first (so a concurrent rebuild of the same days waits for the window to commit and then replaces it),
+ * the effective status of every room-day is read, counted per (date, type, status) and inserted in one batch.
+ * Runs at startup when the rollup is empty (databases that predate it) and weekly as a reconciliation pass,
+ * under a lease so only one instance rebuilds; RoomOccupancyCube uses it to rebuild the days status writes touched.
+ */
+@Component
+public class OccupancyBackfillJob {
+
+    private static final Logger logger = LoggerFactory.getLogger(OccupancyBackfillJob.class);
+
+    static final String LEASE_NAME = "room-occupancy-backfill";
+
+    private static final String EMPTY_SQL = "SELECT COUNT(*) FROM room_occupancy_daily";
+
+    private static final String HISTORY_RANGE_SQL = "SELECT MIN(date), MAX(date) FROM room_status_history";
+
+    private static final String SEGMENT_RANGE_SQL = "SELECT MIN(from_date), MAX(to_date) FROM room_status_segment";
+
+    private static final String ROOMS_SQL = "SELECT room_id, room_type, price_per_night FROM room";
+
+    // oldest change first, so later rows overwrite earlier ones of the same day
+    private static final String LIVE_CELLS_SQL =
+            "SELECT room_id, date, status FROM room_status_history WHERE date BETWEEN ? AND ? ORDER BY changed_at, id";
+
+    private static final String SEGMENTS_SQL =
+            "SELECT room_id, status, from_date, to_date FROM room_status_segment WHERE from_date <= ? AND to_date >= ?";
+
+    private static final String DELETE_SQL = "DELETE FROM room_occupancy_daily WHERE date BETWEEN ? AND ?";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO room_occupancy_daily (date, room_type, status, rooms, revenue) VALUES (?, ?, ?, ?, ?)";
+
+    private static final RoomType[] TYPES = RoomType.values();
+    private static final RoomStatus[] STATUSES = RoomStatus.values();
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final SchedulerLeaseService leaseService;
+    private final int windowDays;
+    private final Duration leaseDuration;
+
+    public OccupancyBackfillJob(JdbcTemplate jdbcTemplate,
+                                PlatformTransactionManager transactionManager,
+                                SchedulerLeaseService leaseService,
+                                @Value("${room.occupancy.backfill.window-days:31}") int windowDays,
+                                @Value("${room.occupancy.backfill.lease-minutes:30}") int leaseMinutes) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.leaseService = leaseService;
+        this.windowDays = Math.max(1, windowDays);
+        this.leaseDuration = Duration.ofMinutes(leaseMinutes);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Long cells = jdbcTemplate.queryForObject(EMPTY_SQL, Long.class);
+        if (cells != null && cells == 0) {
+            runUnderLease();
+        }
+    }
+
+    @Scheduled(cron = "${room.occupancy.backfill.cron:0 0 2 * * SUN}")
+    public void scheduledBackfill() {
+        runUnderLease();
+    }
+
+    private void runUnderLease() {
+        if (!leaseService.tryAcquire(LEASE_NAME, leaseDuration)) {
+            logger.info("Occupancy backfill skipped, another instance holds the lease");
+            return;
+        }
+        try {
+            backfill();
+        } finally {
+            leaseService.release(LEASE_NAME);
+        }
+    }
+
+    /**
+     * Rebuild the rollup over every day that has history or a segment; returns the number of cells written.
+     */
+    public int backfill() {
+        LocalDate[] range = new LocalDate[2];
+        widen(range, HISTORY_RANGE_SQL);
+        widen(range, SEGMENT_RANGE_SQL);
+        if (range[0] == null) {
+            return 0;
+        }
+        return backfill(range[0], range[1]);
+    }
+
+    /**
+     * Rebuild the rollup for the days from..to (inclusive); returns the number of cells written.
+     */
+    public int backfill(LocalDate from, LocalDate to) {
+        long started = System.currentTimeMillis();
+        int cells = rebuild(from, to);
+        logger.info("Backfilled {} occupancy cells from {} to {} in {} ms",
+                cells, from, to, System.currentTimeMillis() - started);
+        return cells;
+    }
+
+    /**
+     * Same as backfill(from, to) without the log line, for the frequent small rebuilds of RoomOccupancyCube.
+     */
+    public int rebuild(LocalDate from, LocalDate to) {
+        int cells = 0;
+        for (LocalDate start = from; !start.isAfter(to); start = start.plusDays(windowDays)) {
+            LocalDate windowStart = start;
+            LocalDate windowEnd = start.plusDays(windowDays - 1).isAfter(to) ? to : start.plusDays(windowDays - 1);
+            Integer written = transactionTemplate.execute(status -> rebuildWindow(windowStart, windowEnd));
+            cells += written != null ? written : 0;
+        }
+        return cells;
+    }
+
+    private int rebuildWindow(LocalDate from, LocalDate to) {
+        jdbcTemplate.update(DELETE_SQL, Date.valueOf(from), Date.valueOf(to));
+
+        Map<String, Integer> typeByRoom = new HashMap<>();
+        Map<String, Double> priceByRoom = new HashMap<>();
+        jdbcTemplate.query(ROOMS_SQL, rs -> {
+            String roomId = TimeOrderedId.fromBytes(rs.getBytes(1));
+            typeByRoom.put(roomId, RoomType.valueOf(rs.getString(2)).ordinal());
+            priceByRoom.put(roomId, rs.getDouble(3));
+        });
+
+        // room id -> status ordinal per day of the window (-1 = no status)
+        int days = (int) (to.toEpochDay() - from.toEpochDay()) + 1;
+        Map<String, int[]> statusByRoom = new HashMap<>();
+        jdbcTemplate.query(LIVE_CELLS_SQL, rs -> {
+            int[] row = statusByRoom.computeIfAbsent(TimeOrderedId.fromBytes(rs.getBytes(1)), id -> emptyRow(days));
+            row[(int) (rs.getDate(2).toLocalDate().toEpochDay() - from.toEpochDay())] =
+                    RoomStatus.valueOf(rs.getString(3)).ordinal();
+        }, Date.valueOf(from), Date.valueOf(to));
+        // segments only fill days without live rows, which take precedence on every read path
+        Map<String, int[]> segmentStatusByRoom = new HashMap<>();
+        jdbcTemplate.query(SEGMENTS_SQL, rs -> {
+            int[] row = segmentStatusByRoom.computeIfAbsent(TimeOrderedId.fromBytes(rs.getBytes(1)), id -> emptyRow(days));
+            int status = RoomStatus.valueOf(rs.getString(2)).ordinal();
+            long first = Math.max(rs.getDate(3).toLocalDate().toEpochDay(), from.toEpochDay());
+            long last = Math.min(rs.getDate(4).toLocalDate().toEpochDay(), to.toEpochDay());
+            for (long day = first; day <= last; day++) {
+                row[(int) (day - from.toEpochDay())] = status;
+            }
+        }, Date.valueOf(to), Date.valueOf(from));
+
+        long[][][] rooms = new long[days][TYPES.length][STATUSES.length];
+        double[][][] revenue = new double[days][TYPES.length][STATUSES.length];
+        for (Map.Entry<String, Integer> room : typeByRoom.entrySet()) {
+            int[] live = statusByRoom.get(room.getKey());
+            int[] compacted = segmentStatusByRoom.get(room.getKey());
+            if (live == null && compacted == null) continue;
+            int type = room.getValue();
+            double price = priceByRoom.get(room.getKey());
+            for (int day = 0; day < days; day++) {
+                int status = live != null && live[day] >= 0 ? live[day] : compacted != null ? compacted[day] : -1;
+                if (status < 0) continue;
+                rooms[day][type][status]++;
+                revenue[day][type][status] += price;
+            }
+        }
+
+        List<Object[]> params = new ArrayList<>();
+        for (int day = 0; day < days; day++) {
+            for (int type = 0; type < TYPES.length; type++) {
+                for (int status = 0; status < STATUSES.length; status++) {
+                    if (rooms[day][type][status] == 0) continue;
+                    params.add(new Object[] {
+                            Date.valueOf(from.plusDays(day)), TYPES[type].name(), STATUSES[status].name(),
+                            rooms[day][type][status], revenue[day][type][status]
+                    });
+                }
+            }
+        }
+        if (!params.isEmpty()) jdbcTemplate.batchUpdate(INSERT_SQL, params);
+        return params.size();
+    }
+
+    private void widen(LocalDate[] range, String sql) {
+        jdbcTemplate.query(sql, rs -> {
+            if (rs.getDate(1) == null) return;
+            LocalDate first = rs.getDate(1).toLocalDate();
+            LocalDate last = rs.getDate(2).toLocalDate();
+            if (range[0] == null || first.isBefore(range[0])) range[0] = first;
+            if (range[1] == null || last.isAfter(range[1])) range[1] = last;
+        });
+    }
+
+    private static int[] emptyRow(int days) {
+        int[] row = new int[days];
+        Arrays.fill(row, -1);
+        return row;
+    }
+}
@@ -0,0 +1,297 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusCellProjection;
+import com.nsbm.group03.roomManagementService.Entity.Room;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+import com.nsbm.group03.roomManagementService.Repository.RoomRepository;
+import com.nsbm.group03.roomManagementService.Repository.RoomStatusHistoryRepository;
+
+/**
+ * In-memory availability calendar.
+ * Keeps one 2-bit status cell per room per day over a rolling window
+ * (0 = no history, otherwise RoomStatus ordinal + 1), packed 32 days per long.
+ * Built from the status history once the application is ready and kept in sync
+ * by RoomService on every status write, so date based status lookups never hit the database.
+ * Only writes made through this instance are applied as they commit; with several instances, writes made
+ * elsewhere show up when the calendar is rebuilt by room.calendar.resync-cron.
+ */
+@Component
+public class RoomAvailabilityCalendar {
+
+    private static final int BITS_PER_DAY = 2;
+    private static final int DAYS_PER_WORD = Long.SIZE / BITS_PER_DAY;
+    private static final long CELL_MASK = (1L << BITS_PER_DAY) - 1;
+    private static final RoomStatus[] STATUSES = RoomStatus.values();
+
+    private final RoomRepository roomRepository;
+    private final RoomStatusHistoryRepository statusHistoryRepository;
+    private final int pastDays;
+    private final int futureDays;
+
+    // replaced wholesale on rebuild, mutated cell by cell on writes
+    private volatile Window window;
+
+    public RoomAvailabilityCalendar(RoomRepository roomRepository,
+                                    RoomStatusHistoryRepository statusHistoryRepository,
+                                    @Value("${room.calendar.past-days:30}") int pastDays,
+                                    @Value("${room.calendar.future-days:90}") int futureDays) {
+        this.roomRepository = roomRepository;
+        this.statusHistoryRepository = statusHistoryRepository;
+        this.pastDays = pastDays;
+        this.futureDays = futureDays;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        rebuild();
+    }
+
+    // picks up status writes made through other instances
+    @Scheduled(cron = "${room.calendar.resync-cron:0 */5 * * * ?}")
+    public void scheduledResync() {
+        rebuild();
+    }
+
+    /**
+     * Rebuild the calendar from the database, re-anchoring the window on today.
+     */
+    public synchronized void rebuild() {
+        LocalDate start = LocalDate.now().minusDays(pastDays);
+        Window fresh = new Window(start.toEpochDay(), pastDays + futureDays);
+
+        for (Room room : roomRepository.findAll()) {
+            fresh.rows.put(room.getRoomId(), new CalendarRow(CalendarRoom.of(room), fresh.words));
+        }
+        List<RoomStatusCellProjection> cells =
+                statusHistoryRepository.findStatusCellsBetween(start, fresh.lastDate());
+        for (RoomStatusCellProjection cell : cells) {
+            fresh.set(cell.getRoomId(), cell.getDate(), cell.getStatus());
+        }
+
+        this.window = fresh;
+        System.out.println("[Calendar] indexed " + fresh.rows.size() + " rooms, " + cells.size()
+                + " history cells from " + start + " to " + fresh.lastDate());
+    }
+
+    /**
+     * True when the calendar is built and the date falls inside its window.
+     */
+    public boolean covers(LocalDate date) {
+        Window current = window;
+        return current != null && current.indexOf(date) >= 0;
+    }
+
+    /**
+     * Register a new room (or refresh its details) with an empty row.
+     */
+    public synchronized void putRoom(Room room) {
+        Window current = window;
+        if (current == null) return;
+        CalendarRow existing = current.rows.get(room.getRoomId());
+        if (existing != null) {
+            existing.room = CalendarRoom.of(room);
+        } else {
+            current.rows.put(room.getRoomId(), new CalendarRow(CalendarRoom.of(room), current.words));
+        }
+    }
+
+    public synchronized void removeRoom(String roomId) {
+        Window current = window;
+        if (current == null) return;
+        current.rows.remove(roomId);
+    }
+
+    /**
+     * Record a status change. Inside a transaction it is applied only once the transaction commits,
+     * so the calendar never shows rows that were rolled back. Dates outside the window are ignored.
+     */
+    public void record(String roomId, LocalDate date, RoomStatus status) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            apply(roomId, date, status);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                apply(roomId, date, status);
+            }
+        });
+    }
+
+    private synchronized void apply(String roomId, LocalDate date, RoomStatus status) {
+        Window current = window;
+        if (current == null) return;
+        current.set(roomId, date, status);
+    }
+
+    /**
+     * Status of a room on a date, or null when unknown.
+     */
+    public RoomStatus statusOf(String roomId, LocalDate date) {
+        Window current = window;
+        if (current == null) return null;
+        int index = current.indexOf(date);
+        CalendarRow row = current.rows.get(roomId);
+        if (index < 0 || row == null) return null;
+        return decode(row.get(index));
+    }
+
+    /**
+     * All rooms whose latest status on the given date matches, ordered by room number.
+     * Callers must check covers(date) first.
+     */
+    public List<CalendarRoom> findRooms(LocalDate date, RoomStatus status) {
+        Window current = window;
+        int index = current.indexOf(date);
+        long wanted = status.ordinal() + 1;
+        List<CalendarRoom> result = new ArrayList<>();
+        for (CalendarRow row : current.rows.values()) {
+            if (row.get(index) == wanted) {
+                result.add(row.room);
+            }
+        }
+        result.sort(Comparator.comparing(CalendarRoom::getRoomNumber));
+        return result;
+    }
+
+    /**
+     * All rooms whose status is the given one on every night of [from, to), ordered by room number.
+     * Callers must check covers(from) and covers(to - 1 day) first.
+     */
+    public List<CalendarRoom> findRoomsForEveryNight(LocalDate from, LocalDate to, RoomStatus status) {
+        Window current = window;
+        int fromIndex = current.indexOf(from);
+        int toIndex = current.indexOf(to.minusDays(1)) + 1;
+        long wanted = status.ordinal() + 1;
+        List<CalendarRoom> result = new ArrayList<>();
+        for (CalendarRow row : current.rows.values()) {
+            if (row.allMatch(fromIndex, toIndex, wanted)) {
+                result.add(row.room);
+            }
+        }
+        result.sort(Comparator.comparing(CalendarRoom::getRoomNumber));
+        return result;
+    }
+
+    private static RoomStatus decode(long cell) {
+        return cell == 0 ? null : STATUSES[(int) cell - 1];
+    }
+
+    /**
+     * Immutable snapshot of the room columns the calendar answers with.
+     */
+    public static final class CalendarRoom {
+        private final String roomId;
+        private final String roomNumber;
+        private final RoomType roomType;
+        private final double pricePerNight;
+        private final int capacity;
+
+        public CalendarRoom(String roomId, String roomNumber, RoomType roomType, double pricePerNight, int capacity) {
+            this.roomId = roomId;
+            this.roomNumber = roomNumber;
+            this.roomType = roomType;
+            this.pricePerNight = pricePerNight;
+            this.capacity = capacity;
+        }
+
+        static CalendarRoom of(Room room) {
+            return new CalendarRoom(room.getRoomId(), room.getRoomNumber(), room.getRoomType(),
+                    room.getPricePerNight(), room.getCapacity());
+        }
+
+        public String getRoomId() { return roomId; }
+        public String getRoomNumber() { return roomNumber; }
+        public RoomType getRoomType() { return roomType; }
+        public double getPricePerNight() { return pricePerNight; }
+        public int getCapacity() { return capacity; }
+    }
+
+    private static final class CalendarRow {
+        private volatile CalendarRoom room;
+        private final AtomicLongArray bits;
+
+        CalendarRow(CalendarRoom room, int words) {
+            this.room = room;
+            this.bits = new AtomicLongArray(words);
+        }
+
+        long get(int index) {
+            int shift = (index % DAYS_PER_WORD) * BITS_PER_DAY;
+            return (bits.get(index / DAYS_PER_WORD) >>> shift) & CELL_MASK;
+        }
+
+        // compares a whole word of days at a time against the cell repeated across the word
+        boolean allMatch(int fromIndex, int toIndex, long cell) {
+            long pattern = 0;
+            for (int i = 0; i < DAYS_PER_WORD; i++) {
+                pattern |= cell << (i * BITS_PER_DAY);
+            }
+            for (int index = fromIndex; index < toIndex; ) {
+                int word = index / DAYS_PER_WORD;
+                int firstDay = index % DAYS_PER_WORD;
+                int lastDay = Math.min(DAYS_PER_WORD, firstDay + (toIndex - index));
+                long mask = lastDay == DAYS_PER_WORD ? -1L : (1L << (lastDay * BITS_PER_DAY)) - 1;
+                mask &= -1L << (firstDay * BITS_PER_DAY);
+                if ((bits.get(word) & mask) != (pattern & mask)) {
+                    return false;
+                }
+                index += lastDay - firstDay;
+            }
+            return true;
+        }
+
+        // writers are serialised by the calendar, so a plain read-modify-write is safe
+        void set(int index, long cell) {
+            int word = index / DAYS_PER_WORD;
+            int shift = (index % DAYS_PER_WORD) * BITS_PER_DAY;
+            bits.set(word, (bits.get(word) & ~(CELL_MASK << shift)) | (cell << shift));
+        }
+    }
+
+    private static final class Window {
+        private final long startEpochDay;
+        private final int days;
+        private final int words;
+        private final Map<String, CalendarRow> rows = new ConcurrentHashMap<>();
+
+        Window(long startEpochDay, int days) {
+            this.startEpochDay = startEpochDay;
+            this.days = days;
+            this.words = (days + DAYS_PER_WORD - 1) / DAYS_PER_WORD;
+        }
+
+        LocalDate lastDate() {
+            return LocalDate.ofEpochDay(startEpochDay + days - 1);
+        }
+
+        int indexOf(LocalDate date) {
+            long offset = date.toEpochDay() - startEpochDay;
+            return offset >= 0 && offset < days ? (int) offset : -1;
+        }
+
+        void set(String roomId, LocalDate date, RoomStatus status) {
+            int index = indexOf(date);
+            CalendarRow row = rows.get(roomId);
+            if (index < 0 || row == null) return;
+            row.set(index, status.ordinal() + 1);
+        }
+    }
+}
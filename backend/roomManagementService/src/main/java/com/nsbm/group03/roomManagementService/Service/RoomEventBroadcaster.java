@@ -0,0 +1,213 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusEventDTO;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Pushes committed room status changes to server-sent event subscribers.
+ * Every change gets the next sequence number and is kept in a bounded replay buffer, so a client
+ * can resume from the last id it saw (Last-Event-ID). Each subscriber has its own bounded buffer
+ * keyed by room and date: a burst of changes to the same room-day collapses to the latest one, and
+ * a subscriber whose buffer overflows gets a single "resync" event instead of the backlog.
+ * Ids start from the startup time in microseconds, so ids from before a restart are never mistaken
+ * for current ones. Only changes written through this instance are seen.
+ * Buffers are flushed on a dedicated thread, so a slow client never holds up a status write.
+ */
+@Component
+public class RoomEventBroadcaster {
+
+    public static final String STATUS_EVENT = "room-status";
+    public static final String RESYNC_EVENT = "resync";
+
+    private final int replaySize;
+    private final int subscriberBuffer;
+    private final long timeoutMillis;
+    private final long heartbeatMillis;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("room-events").daemon().factory());
+
+    // guarded by this
+    private final Deque<RoomStatusEventDTO> replay = new ArrayDeque<>();
+    private long lastId;
+
+    public RoomEventBroadcaster(@Value("${room.events.replay-size:1024}") int replaySize,
+                                @Value("${room.events.subscriber-buffer:256}") int subscriberBuffer,
+                                @Value("${room.events.flush-ms:250}") long flushMillis,
+                                @Value("${room.events.timeout-ms:1800000}") long timeoutMillis,
+                                @Value("${room.events.heartbeat-ms:15000}") long heartbeatMillis) {
+        this.replaySize = replaySize;
+        this.subscriberBuffer = subscriberBuffer;
+        this.timeoutMillis = timeoutMillis;
+        this.heartbeatMillis = heartbeatMillis;
+        this.lastId = System.currentTimeMillis() * 1000;
+        flusher.scheduleWithFixedDelay(this::flush, flushMillis, flushMillis, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+        subscribers.forEach(subscriber -> subscriber.emitter.complete());
+    }
+
+    /**
+     * Publish a status change. Inside a transaction it is published only once the transaction commits.
+     */
+    public void publish(String roomNumber, LocalDate date, RoomStatus status, LocalDateTime changedAt) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            append(roomNumber, date, status, changedAt);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                append(roomNumber, date, status, changedAt);
+            }
+        });
+    }
+
+    private synchronized void append(String roomNumber, LocalDate date, RoomStatus status, LocalDateTime changedAt) {
+        RoomStatusEventDTO event = new RoomStatusEventDTO(++lastId, roomNumber, date, status, changedAt);
+        replay.addLast(event);
+        if (replay.size() > replaySize) {
+            replay.removeFirst();
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(event);
+        }
+    }
+
+    /**
+     * Open a stream. With lastEventId, the changes after it are replayed first; when they are no longer
+     * in the replay buffer the stream starts with a "resync" event telling the client to reload.
+     */
+    public SseEmitter subscribe(Long lastEventId) {
+        Subscriber subscriber = new Subscriber(newEmitter(timeoutMillis));
+        try {
+            // commits the response headers right away instead of at the first change
+            subscriber.emitter.send(SseEmitter.event().comment("connected"));
+        } catch (IOException e) {
+            subscriber.emitter.completeWithError(e);
+            return subscriber.emitter;
+        }
+        synchronized (this) {
+            if (lastEventId != null && lastEventId != lastId) {
+                RoomStatusEventDTO oldest = replay.peekFirst();
+                if (lastEventId > lastId || oldest == null || oldest.getId() > lastEventId + 1) {
+                    subscriber.resync();
+                } else {
+                    for (RoomStatusEventDTO event : replay) {
+                        if (event.getId() > lastEventId) subscriber.offer(event);
+                    }
+                }
+            }
+            subscribers.add(subscriber);
+        }
+        subscriber.emitter.onCompletion(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onTimeout(() -> subscribers.remove(subscriber));
+        subscriber.emitter.onError(error -> subscribers.remove(subscriber));
+        return subscriber.emitter;
+    }
+
+    SseEmitter newEmitter(long timeoutMillis) {
+        return new SseEmitter(timeoutMillis);
+    }
+
+    public int subscriberCount() {
+        return subscribers.size();
+    }
+
+    void flush() {
+        long now = System.currentTimeMillis();
+        for (Subscriber subscriber : subscribers) {
+            try {
+                subscriber.flush(now);
+            } catch (IOException | IllegalStateException e) {
+                // client went away
+                subscribers.remove(subscriber);
+                subscriber.emitter.completeWithError(e);
+            }
+        }
+    }
+
+    private synchronized long lastId() {
+        return lastId;
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        // guarded by this; insertion ordered, re-inserted on coalescing so the order follows the newest change
+        private final Map<String, RoomStatusEventDTO> pending = new LinkedHashMap<>();
+        private boolean overflowed;
+        private long lastSent = System.currentTimeMillis();
+
+        Subscriber(SseEmitter emitter) {
+            this.emitter = emitter;
+        }
+
+        synchronized void offer(RoomStatusEventDTO event) {
+            if (overflowed) return;
+            String key = event.getRoomNumber() + '|' + event.getDate();
+            pending.remove(key);
+            if (pending.size() >= subscriberBuffer) {
+                resync();
+                return;
+            }
+            pending.put(key, event);
+        }
+
+        synchronized void resync() {
+            pending.clear();
+            overflowed = true;
+        }
+
+        void flush(long now) throws IOException {
+            List<RoomStatusEventDTO> events;
+            boolean resync;
+            synchronized (this) {
+                events = new ArrayList<>(pending.values());
+                resync = overflowed;
+                pending.clear();
+                overflowed = false;
+            }
+            if (resync) {
+                // events after this id are delivered as usual; everything before it must be reloaded
+                emitter.send(SseEmitter.event().id(String.valueOf(lastId())).name(RESYNC_EVENT).data("{}"));
+                lastSent = now;
+                return;
+            }
+            for (RoomStatusEventDTO event : events) {
+                emitter.send(SseEmitter.event().id(String.valueOf(event.getId())).name(STATUS_EVENT).data(event));
+                lastSent = now;
+            }
+            if (now - lastSent >= heartbeatMillis) {
+                emitter.send(SseEmitter.event().comment("keep-alive"));
+                lastSent = now;
+            }
+        }
+    }
+}
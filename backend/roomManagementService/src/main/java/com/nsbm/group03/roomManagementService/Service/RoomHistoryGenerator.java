@@ -0,0 +1,131 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.nsbm.group03.roomManagementService.Dto.HistoryGenerationResult;
+import com.nsbm.group03.roomManagementService.Dto.RoomDateProjection;
+import com.nsbm.group03.roomManagementService.Entity.Room;
+import com.nsbm.group03.roomManagementService.Entity.TimeOrderedId;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Repository.RoomStatusHistoryRepository;
+
+/**
+ * Set-based generator for future room status history.
+ * Reads the (room, date) pairs that already exist for the whole horizon in one query,
+ * works out the missing cells in memory and inserts them through RoomStatusBatchWriter,
+ * instead of a SELECT and an INSERT per room per day.
+ */
+@Component
+public class RoomHistoryGenerator {
+
+    private final RoomStatusHistoryRepository statusHistoryRepository;
+    private final RoomStatusBatchWriter batchWriter;
+
+    public RoomHistoryGenerator(RoomStatusHistoryRepository statusHistoryRepository,
+                                RoomStatusBatchWriter batchWriter) {
+        this.statusHistoryRepository = statusHistoryRepository;
+        this.batchWriter = batchWriter;
+    }
+
+    /**
+     * Fill missing history for the given rooms from today up to daysAhead days (idempotent).
+     */
+    @Transactional
+    public HistoryGenerationResult generate(List<Room> rooms, int daysAhead) {
+        if (rooms.isEmpty()) {
+            return new HistoryGenerationResult(0, 0, 0);
+        }
+        long started = System.currentTimeMillis();
+        LocalDate today = LocalDate.now();
+        LocalDate lastDate = today.plusDays(daysAhead - 1);
+        List<String> roomIds = rooms.stream().map(Room::getRoomId).toList();
+        return fill(rooms, today, lastDate,
+                statusHistoryRepository.findRoomDatesBetweenForRooms(roomIds, today, lastDate), started);
+    }
+
+    /**
+     * Fill missing history for every room from today up to daysAhead days (idempotent).
+     */
+    @Transactional
+    public HistoryGenerationResult generateForAll(List<Room> rooms, int daysAhead) {
+        long started = System.currentTimeMillis();
+        LocalDate today = LocalDate.now();
+        LocalDate lastDate = today.plusDays(daysAhead - 1);
+        return fill(rooms, today, lastDate, statusHistoryRepository.findRoomDatesBetween(today, lastDate), started);
+    }
+
+    private HistoryGenerationResult fill(List<Room> rooms, LocalDate firstDate, LocalDate lastDate,
+                                         List<RoomDateProjection> existingPairs, long started) {
+        Set<String> existing = new HashSet<>(existingPairs.size() * 2);
+        for (RoomDateProjection pair : existingPairs) {
+            existing.add(key(pair.getRoomId(), pair.getDate()));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>();
+        for (Room room : rooms) {
+            for (LocalDate date = firstDate; !date.isAfter(lastDate); date = date.plusDays(1)) {
+                if (existing.contains(key(room.getRoomId(), date))) continue;
+                rows.add(row(room, date, now));
+            }
+        }
+
+        batchWriter.write(rows);
+
+        return new HistoryGenerationResult(rooms.size(), rows.size(), System.currentTimeMillis() - started);
+    }
+
+    /**
+     * Append history for the given missing days of each room (roomId -> days).
+     * Used by the incremental refresher, which finds the days with an anti-join against history,
+     * so none of them exists yet and no existence check is needed.
+     */
+    @Transactional
+    public HistoryGenerationResult generateMissing(List<Room> rooms, Map<String, List<LocalDate>> missingDates) {
+        long started = System.currentTimeMillis();
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>();
+        for (Room room : rooms) {
+            for (LocalDate date : missingDates.getOrDefault(room.getRoomId(), List.of())) {
+                rows.add(row(room, date, now));
+            }
+        }
+
+        batchWriter.write(rows);
+
+        return new HistoryGenerationResult(rooms.size(), rows.size(), System.currentTimeMillis() - started);
+    }
+
+    private Object[] row(Room room, LocalDate date, LocalDateTime now) {
+        return new Object[] {
+                TimeOrderedId.next(),
+                room.getRoomId(),
+                Date.valueOf(date),
+                pickRandomStatus().name(),
+                "SYSTEM",
+                Timestamp.valueOf(now)
+        };
+    }
+
+    private static String key(String roomId, LocalDate date) {
+        return roomId + '|' + date;
+    }
+
+    private RoomStatus pickRandomStatus() {
+        double r = Math.random();
+        if (r < 0.7) return RoomStatus.AVAILABLE;
+        if (r < 0.9) return RoomStatus.OCCUPIED;
+        return RoomStatus.MAINTENANCE;
+    }
+}
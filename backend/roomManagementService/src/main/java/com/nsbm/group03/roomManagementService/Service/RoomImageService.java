@@ -0,0 +1,140 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+/**
+ * Serves room type image files.
+ * Small images are kept in a bounded LRU byte cache, larger ones are streamed from disk.
+ * Every hit re-checks the file's size and modification time, so a replaced file is picked up
+ * on the next request and its ETag changes with it.
+ */
+@Service
+public class RoomImageService {
+
+    private final long cacheMaxBytes;
+    private final long cacheMaxFileBytes;
+
+    // access ordered, evicted by total size in put()
+    private final LinkedHashMap<Path, CachedImage> cache = new LinkedHashMap<>(16, 0.75f, true);
+    private long cachedBytes;
+
+    public RoomImageService(@Value("${room.images.cache-max-bytes:8388608}") long cacheMaxBytes,
+                            @Value("${room.images.cache-max-file-bytes:1048576}") long cacheMaxFileBytes) {
+        this.cacheMaxBytes = cacheMaxBytes;
+        this.cacheMaxFileBytes = cacheMaxFileBytes;
+    }
+
+    /**
+     * Load an image for serving, or null when the file does not exist.
+     */
+    public ImageAsset load(String imagePath) throws IOException {
+        Path file = Paths.get(imagePath);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+        long size = attributes.size();
+        long lastModified = attributes.lastModifiedTime().toMillis();
+        String eTag = "\"" + Long.toHexString(size) + "-" + Long.toHexString(lastModified) + "\"";
+        MediaType contentType = MediaType.parseMediaType(getContentType(imagePath));
+
+        CachedImage cached = get(file);
+        if (cached != null && cached.size == size && cached.lastModified == lastModified) {
+            return new ImageAsset(new ByteArrayResource(cached.bytes), eTag, lastModified, contentType);
+        }
+
+        if (size <= cacheMaxFileBytes) {
+            byte[] bytes = Files.readAllBytes(file);
+            put(file, new CachedImage(bytes, size, lastModified));
+            return new ImageAsset(new ByteArrayResource(bytes), eTag, lastModified, contentType);
+        }
+
+        // too large to cache: stream straight from the file
+        return new ImageAsset(new FileSystemResource(file), eTag, lastModified, contentType);
+    }
+
+    private synchronized CachedImage get(Path file) {
+        return cache.get(file);
+    }
+
+    private synchronized void put(Path file, CachedImage image) {
+        CachedImage previous = cache.put(file, image);
+        if (previous != null) {
+            cachedBytes -= previous.bytes.length;
+        }
+        cachedBytes += image.bytes.length;
+
+        Iterator<Map.Entry<Path, CachedImage>> eldest = cache.entrySet().iterator();
+        while (cachedBytes > cacheMaxBytes && eldest.hasNext()) {
+            Map.Entry<Path, CachedImage> entry = eldest.next();
+            if (entry.getKey().equals(file)) continue;
+            cachedBytes -= entry.getValue().bytes.length;
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Determine content type based on file extension
+     */
+    private String getContentType(String filePath) {
+        if (filePath.endsWith(".jpg") || filePath.endsWith(".jpeg")) {
+            return "image/jpeg";
+        } else if (filePath.endsWith(".png")) {
+            return "image/png";
+        } else if (filePath.endsWith(".gif")) {
+            return "image/gif";
+        } else if (filePath.endsWith(".webp")) {
+            return "image/webp";
+        }
+        return "application/octet-stream";
+    }
+
+    private static final class CachedImage {
+        private final byte[] bytes;
+        private final long size;
+        private final long lastModified;
+
+        CachedImage(byte[] bytes, long size, long lastModified) {
+            this.bytes = bytes;
+            this.size = size;
+            this.lastModified = lastModified;
+        }
+    }
+
+    /**
+     * An image ready to be written to the response, with its validators
+     */
+    public static final class ImageAsset {
+        private final Resource resource;
+        private final String eTag;
+        private final long lastModified;
+        private final MediaType contentType;
+
+        public ImageAsset(Resource resource, String eTag, long lastModified, MediaType contentType) {
+            this.resource = resource;
+            this.eTag = eTag;
+            this.lastModified = lastModified;
+            this.contentType = contentType;
+        }
+
+        public Resource getResource() { return resource; }
+        public String getETag() { return eTag; }
+        public long getLastModified() { return lastModified; }
+        public MediaType getContentType() { return contentType; }
+    }
+}
@@ -0,0 +1,152 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.nsbm.group03.roomManagementService.Enum.ImageVariant;
+
+/**
+ * Pre-renders resized, recompressed JPEG variants of room type images.
+ * Variants are written once next to the original (Deluxe.jpg -> Deluxe-thumbnail.jpg, Deluxe-card.jpg)
+ * and only re-rendered when the original is newer, so requests never resize on the fly.
+ */
+@Service
+public class RoomImageVariantService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomImageVariantService.class);
+
+    /**
+     * Render every sized variant of an image that is missing or older than the original.
+     */
+    public void generateVariants(String imagePath) {
+        Path original = Paths.get(imagePath);
+        if (!Files.isRegularFile(original)) {
+            return;
+        }
+        try {
+            BufferedImage source = null;
+            for (ImageVariant variant : ImageVariant.values()) {
+                if (variant == ImageVariant.FULL) continue;
+
+                Path target = Paths.get(variantPath(imagePath, variant));
+                if (Files.exists(target)
+                        && Files.getLastModifiedTime(target).compareTo(Files.getLastModifiedTime(original)) >= 0) {
+                    continue;
+                }
+                if (source == null) {
+                    source = ImageIO.read(original.toFile());
+                    if (source == null) {
+                        logger.warn("Unsupported image format: {}", imagePath);
+                        return;
+                    }
+                }
+                writeJpeg(resize(source, variant.getWidth()), target, variant.getQuality());
+                logger.info("Rendered {}", target);
+            }
+        } catch (IOException e) {
+            logger.error("Could not render variants of {}", imagePath, e);
+        }
+    }
+
+    /**
+     * Path of the variant if it has been rendered, otherwise the original image path.
+     */
+    public String resolve(String imagePath, ImageVariant variant) {
+        if (variant == ImageVariant.FULL) {
+            return imagePath;
+        }
+        String path = variantPath(imagePath, variant);
+        return Files.isRegularFile(Paths.get(path)) ? path : imagePath;
+    }
+
+    /**
+     * Choose a variant from an explicit size name, else from client hints (rendered width,
+     * then viewport width, both in device pixels), else the full image.
+     * Throws IllegalArgumentException for an unknown size name.
+     */
+    public ImageVariant choose(String size, Integer width, Integer viewportWidth) {
+        if (size != null && !size.isBlank()) {
+            return ImageVariant.valueOf(size.trim().toUpperCase());
+        }
+        if (width != null && width > 0) {
+            return forWidth(width);
+        }
+        if (viewportWidth != null && viewportWidth > 0) {
+            return forWidth(viewportWidth);
+        }
+        return ImageVariant.FULL;
+    }
+
+    /**
+     * Pick the smallest variant at least as wide as the requested width in pixels.
+     */
+    public ImageVariant forWidth(int width) {
+        for (ImageVariant variant : ImageVariant.values()) {
+            if (variant == ImageVariant.FULL || width <= variant.getWidth()) {
+                return variant;
+            }
+        }
+        return ImageVariant.FULL;
+    }
+
+    private String variantPath(String imagePath, ImageVariant variant) {
+        int dot = imagePath.lastIndexOf('.');
+        String base = dot > imagePath.lastIndexOf('/') ? imagePath.substring(0, dot) : imagePath;
+        return base + "-" + variant.name().toLowerCase() + ".jpg";
+    }
+
+    private BufferedImage resize(BufferedImage source, int width) {
+        // never upscale; also flattens any alpha channel since JPEG has none
+        int targetWidth = Math.min(width, source.getWidth());
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * targetWidth / source.getWidth()));
+
+        BufferedImage resized = new BufferedImage(targetWidth, targetHeight, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = resized.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(source, 0, 0, targetWidth, targetHeight, null);
+        } finally {
+            g.dispose();
+        }
+        return resized;
+    }
+
+    private void writeJpeg(BufferedImage image, Path target, float quality) throws IOException {
+        Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+        if (!writers.hasNext()) {
+            throw new IOException("No JPEG writer available");
+        }
+        ImageWriter writer = writers.next();
+        ImageWriteParam param = writer.getDefaultWriteParam();
+        param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+        param.setCompressionQuality(quality);
+
+        // write to a temp file first so readers never see a half written variant
+        Path temp = Files.createTempFile(target.getParent(), "variant", ".tmp");
+        try (ImageOutputStream out = ImageIO.createImageOutputStream(temp.toFile())) {
+            writer.setOutput(out);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
@@ -0,0 +1,146 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import java.sql.Date;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.nsbm.group03.roomManagementService.Entity.TimeOrderedId;
+
+/**
+ * Keeps the room_occupancy_daily rollup in step with status writes, outside the write transactions.
+ * Writers only mark the days they touched; inside a transaction the marks are taken once it commits,
+ * so a rolled back write marks nothing. flush() then rebuilds every marked day from history and segments
+ * with OccupancyBackfillJob, one background pass at a time, so a status write never locks a rollup row
+ * and concurrent writers never wait on the hot (date, type, status) cells or on each other.
+ * The rollup trails the writes by up to room.occupancy.flush-ms. Marks live in memory: a day lost to a
+ * crash before its flush is corrected by the weekly backfill.
+ *
+ * The rollup is rebuilt per dirty day, not updated with signed deltas (rooms = rooms + ?), on purpose.
+ * A delta needs the status a write replaces. That is the room-day's effective status, which depends on
+ * the other rows of the day (greatest changedAt, then id) and on segments, and a backdated write may not
+ * change it at all. Applying deltas in the write transaction also puts every writer of a date and type on
+ * the same rollup rows again. A rebuild costs one read of the rooms and of the live rows of each run of
+ * dirty days, once per flush however many writes touched those days.
+ */
+@Component
+public class RoomOccupancyCube {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomOccupancyCube.class);
+
+    private static final String HISTORY_RANGE_SQL =
+            "SELECT MIN(date), MAX(date) FROM room_status_history WHERE room_id = ?";
+
+    private static final String SEGMENT_RANGE_SQL =
+            "SELECT MIN(from_date), MAX(to_date) FROM room_status_segment WHERE room_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final OccupancyBackfillJob backfillJob;
+    private final NavigableSet<LocalDate> dirtyDays = new ConcurrentSkipListSet<>();
+
+    public RoomOccupancyCube(JdbcTemplate jdbcTemplate, OccupancyBackfillJob backfillJob) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.backfillJob = backfillJob;
+    }
+
+    /**
+     * Account for one status change of a day.
+     */
+    public void record(LocalDate date) {
+        markDirty(List.of(date));
+    }
+
+    /**
+     * Account for history rows in RoomStatusBatchWriter format.
+     */
+    public void recordRows(List<Object[]> rows) {
+        Set<LocalDate> days = new TreeSet<>();
+        for (Object[] row : rows) {
+            days.add(((Date) row[2]).toLocalDate());
+        }
+        markDirty(days);
+    }
+
+    /**
+     * Take every day of a room out of the rollup; called before the room and its history are deleted,
+     * while the days it has history for can still be read.
+     */
+    public void removeRoom(String roomId) {
+        LocalDate[] range = new LocalDate[2];
+        byte[] id = TimeOrderedId.toBytes(roomId);
+        widen(range, HISTORY_RANGE_SQL, id);
+        widen(range, SEGMENT_RANGE_SQL, id);
+        if (range[0] == null) return;
+        List<LocalDate> days = new ArrayList<>();
+        for (LocalDate date = range[0]; !date.isAfter(range[1]); date = date.plusDays(1)) {
+            days.add(date);
+        }
+        markDirty(days);
+    }
+
+    /**
+     * Rebuild the days marked so far, as runs of consecutive days; returns the number of days rebuilt.
+     * A run that fails (e.g. on a lock held by the weekly backfill) is marked again for the next flush.
+     */
+    @Scheduled(fixedDelayString = "${room.occupancy.flush-ms:1000}")
+    public synchronized int flush() {
+        List<LocalDate> days = new ArrayList<>();
+        for (LocalDate day = dirtyDays.pollFirst(); day != null; day = dirtyDays.pollFirst()) {
+            days.add(day);
+        }
+        int rebuilt = 0;
+        int start = 0;
+        for (int i = 1; i <= days.size(); i++) {
+            if (i < days.size() && days.get(i).equals(days.get(i - 1).plusDays(1))) continue;
+            List<LocalDate> run = days.subList(start, i);
+            try {
+                backfillJob.rebuild(run.get(0), run.get(run.size() - 1));
+                rebuilt += run.size();
+            } catch (DataAccessException e) {
+                dirtyDays.addAll(run);
+                logger.warn("Rebuilding occupancy from {} to {} failed, retrying on the next flush",
+                        run.get(0), run.get(run.size() - 1), e);
+            }
+            start = i;
+        }
+        return rebuilt;
+    }
+
+    private void markDirty(Collection<LocalDate> days) {
+        if (days.isEmpty()) return;
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            dirtyDays.addAll(days);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                dirtyDays.addAll(days);
+            }
+        });
+    }
+
+    private void widen(LocalDate[] range, String sql, byte[] roomId) {
+        jdbcTemplate.query(sql, rs -> {
+            if (rs.getDate(1) == null) return;
+            LocalDate first = rs.getDate(1).toLocalDate();
+            LocalDate last = rs.getDate(2).toLocalDate();
+            if (range[0] == null || first.isBefore(range[0])) range[0] = first;
+            if (range[1] == null || last.isAfter(range[1])) range[1] = last;
+        }, (Object) roomId);
+    }
+}
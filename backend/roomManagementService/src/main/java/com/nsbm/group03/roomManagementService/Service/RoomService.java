@@ -1,27 +1,77 @@
 package com.nsbm.group03.roomManagementService.Service;
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.nsbm.group03.roomManagementService.Entity.Room;
+import com.nsbm.group03.roomManagementService.Entity.RoomCurrentStatus;
+import com.nsbm.group03.roomManagementService.Entity.RoomOccupancyDaily;
 import com.nsbm.group03.roomManagementService.Entity.RoomStatusHistory;
-import com.nsbm.group03.roomManagementService.Entity.RoomTypeEntity;
+import com.nsbm.group03.roomManagementService.Entity.RoomStatusSegment;
+import com.nsbm.group03.roomManagementService.Entity.TimeOrderedId;
+import com.nsbm.group03.roomManagementService.Enum.BulkUpdateOutcome;
+import com.nsbm.group03.roomManagementService.Enum.OccupancyGroupBy;
 import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
 import com.nsbm.group03.roomManagementService.Enum.RoomType;
+import com.nsbm.group03.roomManagementService.Dto.BulkStatusChangeDTO;
+import com.nsbm.group03.roomManagementService.Dto.BulkStatusItemResultDTO;
+import com.nsbm.group03.roomManagementService.Dto.BulkStatusUpdateResultDTO;
+import com.nsbm.group03.roomManagementService.Dto.HistoryCursor;
+import com.nsbm.group03.roomManagementService.Dto.HistoryGenerationResult;
+import com.nsbm.group03.roomManagementService.Dto.OccupancyDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomAvailabilityDTO;
 import com.nsbm.group03.roomManagementService.Dto.RoomCountDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusCellProjection;
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusHistoryDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusSnapshotDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomSummaryProjection;
 import com.nsbm.group03.roomManagementService.Dto.RoomTypeSummaryDTO;
 import com.nsbm.group03.roomManagementService.Dto.StatisticsDTO;
+import com.nsbm.group03.roomManagementService.Dto.StatusHistoryPageDTO;
+import com.nsbm.group03.roomManagementService.Dto.StatusCountProjection;
 import com.nsbm.group03.roomManagementService.Dto.StatisticsByTypeDTO;
+import com.nsbm.group03.roomManagementService.Dto.TypeStatusCountProjection;
+import com.nsbm.group03.roomManagementService.Exception.RoomStatusConflictException;
+import com.nsbm.group03.roomManagementService.Mapper.RoomMapper;
+import com.nsbm.group03.roomManagementService.Repository.RoomCurrentStatusRepository;
+import com.nsbm.group03.roomManagementService.Repository.RoomOccupancyDailyRepository;
 import com.nsbm.group03.roomManagementService.Repository.RoomRepository;
 import com.nsbm.group03.roomManagementService.Repository.RoomStatusHistoryRepository;
-import com.nsbm.group03.roomManagementService.Repository.RoomTypeRepository;
+import com.nsbm.group03.roomManagementService.Repository.RoomStatusSegmentRepository;
 
 @Service
 public class RoomService {
+
+    private static final int MAX_HISTORY_PAGE_SIZE = 1000;
+    private static final int MAX_BULK_STATUS_CHANGES = 1000;
+
     @Autowired
     private RoomRepository roomRepository;
 
@@ -29,9 +79,47 @@ public class RoomService {
     private RoomStatusHistoryRepository statusHistoryRepository;
 
     @Autowired
-    private RoomTypeRepository roomTypeRepository;
+    private RoomTypeService roomTypeService;
+
+    @Autowired
+    private RoomCurrentStatusRepository currentStatusRepository;
+
+    @Autowired
+    private RoomAvailabilityCalendar availabilityCalendar;
+
+    @Autowired
+    private RoomHistoryGenerator historyGenerator;
+
+    @Autowired
+    private RoomStatusSegmentRepository segmentRepository;
+
+    @Autowired
+    private RoomStatusBatchWriter statusBatchWriter;
+
+    @Autowired
+    private RoomEventBroadcaster eventBroadcaster;
+
+    @Autowired
+    private RoomOccupancyCube occupancyCube;
+
+    @Autowired
+    private RoomOccupancyDailyRepository occupancyRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Value("${room.statistics.ttl-ms:5000}")
+    private long statisticsTtlMillis;
+
+    @Value("${room.status.max-attempts:5}")
+    private int statusMaxAttempts;
+
+    @Value("${room.status.retry-backoff-ms:5}")
+    private long statusRetryBackoffMillis;
+
+    private final Object statisticsLock = new Object();
+    private volatile StatisticsSnapshot statisticsSnapshot;
 
-    
 
     // ========== ROOM MANAGEMENT ==========
 
@@ -48,6 +136,19 @@ public class RoomService {
         return roomRepository.save(room);        
     }
 
+    // Batch create (no history generation); rooms must not have an id yet so they are persisted, not merged
+    @Transactional
+    public List<Room> insertRooms(List<Room> rooms) {
+        for (Room room : rooms) {
+            if (room.getStatus() == null) {
+                room.setStatus(RoomStatus.AVAILABLE);
+            }
+        }
+        List<Room> saved = roomRepository.saveAll(rooms);
+        saved.forEach(availabilityCalendar::putRoom);
+        return saved;
+    }
+
     // Create a room and automatically populate 30 days of random status history
     public Room createRoomWithHistory(Room room) {
         // avoid duplicates by roomNumber
@@ -59,16 +160,22 @@ public class RoomService {
             room.setStatus(RoomStatus.AVAILABLE);
         }
         Room saved = roomRepository.save(room);
-        generateHistoryForRoom(saved, 30);
-        System.out.println("Generated history for room " + saved.getRoomNumber());
+        availabilityCalendar.putRoom(saved);
+        HistoryGenerationResult result = generateHistoryForRoom(saved, 30);
+        System.out.println("Generated history for room " + saved.getRoomNumber() + ": " + result);
         return saved;
     }
 
     // Delete a room along with its history (cascade handles history removal)
+    @Transactional
     public void deleteRoomWithHistory(String roomNumber) {
         Room room = getRoomByNumber(roomNumber);
         if (room != null) {
+            occupancyCube.removeRoom(room.getRoomId());
             roomRepository.delete(room);
+            currentStatusRepository.deleteById(room.getRoomId());
+            segmentRepository.deleteByRoomId(room.getRoomId());
+            availabilityCalendar.removeRoom(room.getRoomId());
             System.out.println("Deleted room " + roomNumber + " and its history");
         }
     }
@@ -78,6 +185,29 @@ public class RoomService {
         return roomRepository.findByRoomNumber(roomNumber);
     }
 
+    // All rooms as DTOs, selected column by column without loading Room entities
+    public List<RoomDTO> getAllRoomDTOs() {
+        return roomRepository.findAllRoomDTOs();
+    }
+
+    // A room as a DTO, null when there is no such room
+    public RoomDTO getRoomDTOByNumber(String roomNumber) {
+        return roomRepository.findRoomDTOByRoomNumber(roomNumber);
+    }
+
+    // Resolve a room number to its id, null when there is no such room
+    public String getRoomIdByNumber(String roomNumber) {
+        return roomRepository.findRoomIdByRoomNumber(roomNumber);
+    }
+
+    private String requireRoomId(String roomNumber) {
+        String roomId = getRoomIdByNumber(roomNumber);
+        if (roomId == null) {
+            throw new RuntimeException("Room with number " + roomNumber + " not found");
+        }
+        return roomId;
+    }
+
     // Get room count statistics by type
     public RoomCountDTO getRoomCountByType() {
         long singleCount = roomRepository.countByRoomType(RoomType.SINGLE);
@@ -88,44 +218,96 @@ public class RoomService {
     }
 
     // Delete a room by room number
+    @Transactional
     public void deleteRoom(String roomNumber) {
         Room room = getRoomByNumber(roomNumber);
         if (room != null) {
+            occupancyCube.removeRoom(room.getRoomId());
             roomRepository.delete(room);
+            currentStatusRepository.deleteById(room.getRoomId());
+            segmentRepository.deleteByRoomId(room.getRoomId());
+            availabilityCalendar.removeRoom(room.getRoomId());
         }
     }
 
     // ========== ROOM STATUS MANAGEMENT ==========
 
-    // Update room status and create status history
+    // Update room status and create status history; a concurrent change of the same room is retried
     public RoomStatusHistory updateRoomStatus(String roomNumber, RoomStatus newStatus, String changedBy) {
+        return transitionRoomStatus(roomNumber, null, newStatus, changedBy);
+    }
+
+    /**
+     * Compare-and-set today's status of a room: applied only while the room is in expectedStatus (null = any).
+     * Optimistic: nothing is locked on read; Room.version makes a write based on a stale read fail its UPDATE
+     * instead of overwriting. An attempt only writes the room and its current-status row, but a write can still
+     * lose a lock wait or deadlock on those rows to a concurrent one, so both kinds of failure are retried in a
+     * new transaction (re-checking expectedStatus) up to room.status.max-attempts times with a short random
+     * backoff. Call it outside a transaction.
+     * Throws RoomStatusConflictException when the room is in another status or every attempt collided.
+     */
+    public RoomStatusHistory transitionRoomStatus(String roomNumber, RoomStatus expectedStatus, RoomStatus newStatus,
+                                                  String changedBy) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(tx -> applyRoomStatus(roomNumber, expectedStatus, newStatus, changedBy));
+            } catch (OptimisticLockingFailureException | PessimisticLockingFailureException e) {
+                if (attempt >= statusMaxAttempts) {
+                    throw new RoomStatusConflictException(roomNumber, expectedStatus, e);
+                }
+                try {
+                    Thread.sleep(ThreadLocalRandom.current().nextLong(statusRetryBackoffMillis * attempt + 1));
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw new RoomStatusConflictException(roomNumber, expectedStatus, e);
+                }
+            }
+        }
+    }
+
+    // One attempt of transitionRoomStatus, inside its transaction
+    private RoomStatusHistory applyRoomStatus(String roomNumber, RoomStatus expectedStatus, RoomStatus newStatus,
+                                              String changedBy) {
         Room room = getRoomByNumber(roomNumber);
         if (room == null) {
             throw new RuntimeException("Room with number " + roomNumber + " not found");
         }
+        if (expectedStatus != null && room.getStatus() != expectedStatus) {
+            throw new RoomStatusConflictException(roomNumber, expectedStatus, room.getStatus());
+        }
 
-        // Update the room status
+        // Update the room status; the version check runs here, before any derived state is touched
         room.setStatus(newStatus);
-        roomRepository.save(room);
+        roomRepository.saveAndFlush(room);
+
+        LocalDate today = LocalDate.now();
+        occupancyCube.record(today);
 
         // Create status history record
         RoomStatusHistory statusHistory = new RoomStatusHistory();
         statusHistory.setRoom(room);
         statusHistory.setStatus(newStatus);
-        statusHistory.setDate(LocalDate.now());
+        statusHistory.setDate(today);
         statusHistory.setChangedBy(changedBy);
         statusHistory.setChangedAt(LocalDateTime.now());
 
-        return statusHistoryRepository.save(statusHistory);
+        RoomStatusHistory saved = statusHistoryRepository.save(statusHistory);
+        updateCurrentStatus(saved);
+        availabilityCalendar.record(room.getRoomId(), saved.getDate(), newStatus);
+        eventBroadcaster.publish(roomNumber, saved.getDate(), newStatus, saved.getChangedAt());
+        return saved;
     }
 
     // Update room status for a specific date
+    @Transactional
     public RoomStatusHistory updateRoomStatusForDate(String roomNumber, RoomStatus newStatus, LocalDate date, String changedBy) {
         Room room = getRoomByNumber(roomNumber);
         if (room == null) {
             throw new RuntimeException("Room with number " + roomNumber + " not found");
         }
 
+        occupancyCube.record(date);
+
         RoomStatusHistory statusHistory = new RoomStatusHistory();
         statusHistory.setRoom(room);
         statusHistory.setStatus(newStatus);
@@ -133,17 +315,101 @@ public class RoomService {
         statusHistory.setChangedBy(changedBy);
         statusHistory.setChangedAt(LocalDateTime.now());
 
-        return statusHistoryRepository.save(statusHistory);
+        RoomStatusHistory saved = statusHistoryRepository.save(statusHistory);
+        updateCurrentStatus(saved);
+        availabilityCalendar.record(room.getRoomId(), date, newStatus);
+        eventBroadcaster.publish(roomNumber, date, newStatus, saved.getChangedAt());
+        return saved;
+    }
+
+    // Apply many status changes in one transaction: one IN query for the rooms, one JDBC batch for the history.
+    // A change dated today also sets Room.status, like updateRoomStatus; other dates behave like updateRoomStatusForDate.
+    @Transactional
+    public BulkStatusUpdateResultDTO bulkUpdateRoomStatus(List<BulkStatusChangeDTO> changes, String changedBy) {
+        if (changes.size() > MAX_BULK_STATUS_CHANGES) {
+            throw new IllegalArgumentException("At most " + MAX_BULK_STATUS_CHANGES + " changes per request");
+        }
+        Set<String> roomNumbers = new HashSet<>();
+        for (BulkStatusChangeDTO change : changes) {
+            if (change != null && change.getRoomNumber() != null) {
+                roomNumbers.add(change.getRoomNumber());
+            }
+        }
+        Map<String, Room> rooms = new HashMap<>();
+        if (!roomNumbers.isEmpty()) {
+            for (Room room : roomRepository.findByRoomNumberIn(roomNumbers)) {
+                rooms.put(room.getRoomNumber(), room);
+            }
+        }
+
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+        List<Object[]> rows = new ArrayList<>();
+        Map<String, RoomStatus> todaysStatus = new LinkedHashMap<>();
+        List<BulkStatusItemResultDTO> results = new ArrayList<>(changes.size());
+        int updated = 0;
+
+        for (int i = 0; i < changes.size(); i++) {
+            BulkStatusChangeDTO change = changes.get(i);
+            if (change == null || change.getRoomNumber() == null || change.getRoomNumber().isBlank()
+                    || change.getStatus() == null) {
+                results.add(new BulkStatusItemResultDTO(i, change != null ? change.getRoomNumber() : null,
+                        change != null ? change.getStatus() : null, change != null ? change.getDate() : null,
+                        BulkUpdateOutcome.INVALID, null, "roomNumber and status are required"));
+                continue;
+            }
+            LocalDate date = change.getDate() != null ? change.getDate() : today;
+            Room room = rooms.get(change.getRoomNumber());
+            if (room == null) {
+                results.add(new BulkStatusItemResultDTO(i, change.getRoomNumber(), change.getStatus(), date,
+                        BulkUpdateOutcome.ROOM_NOT_FOUND, null, "Room with number " + change.getRoomNumber() + " not found"));
+                continue;
+            }
+
+            // one microsecond apart so that, for the same room, a later change in the request is the newer row
+            String historyId = TimeOrderedId.next();
+            LocalDateTime changedAt = now.plusNanos(i * 1000L);
+            rows.add(new Object[] {
+                    historyId,
+                    room.getRoomId(),
+                    Date.valueOf(date),
+                    change.getStatus().name(),
+                    changedBy,
+                    Timestamp.valueOf(changedAt)
+            });
+            eventBroadcaster.publish(room.getRoomNumber(), date, change.getStatus(), changedAt);
+            if (date.equals(today)) {
+                todaysStatus.put(room.getRoomId(), change.getStatus());
+            }
+            results.add(new BulkStatusItemResultDTO(i, room.getRoomNumber(), change.getStatus(), date,
+                    BulkUpdateOutcome.UPDATED, historyId, null));
+            updated++;
+        }
+
+        statusBatchWriter.write(rows);
+        statusBatchWriter.updateRoomStatuses(todaysStatus);
+        return new BulkStatusUpdateResultDTO(updated, changes.size() - updated, results);
     }
 
-    // Mark room as occupied (when guest checks in)
+    // Move the current status projection to the history row just written (same transaction)
+    private void updateCurrentStatus(RoomStatusHistory history) {
+        String roomId = history.getRoom().getRoomId();
+        int updated = currentStatusRepository.updateCurrentStatus(roomId, history.getId(), history.getDate(),
+                history.getStatus(), history.getChangedBy(), history.getChangedAt());
+        if (updated == 0) {
+            currentStatusRepository.save(new RoomCurrentStatus(roomId, history.getId(), history.getDate(),
+                    history.getStatus(), history.getChangedBy(), history.getChangedAt()));
+        }
+    }
+
+    // Mark room as occupied (when guest checks in); only an AVAILABLE room can be checked in
     public RoomStatusHistory checkInRoom(String roomNumber, String changedBy) {
-        return updateRoomStatus(roomNumber, RoomStatus.OCCUPIED, changedBy);
+        return transitionRoomStatus(roomNumber, RoomStatus.AVAILABLE, RoomStatus.OCCUPIED, changedBy);
     }
 
-    // Mark room as available (when guest checks out)
+    // Mark room as available (when guest checks out); only an OCCUPIED room can be checked out
     public RoomStatusHistory checkOutRoom(String roomNumber, String changedBy) {
-        return updateRoomStatus(roomNumber, RoomStatus.AVAILABLE, changedBy);
+        return transitionRoomStatus(roomNumber, RoomStatus.OCCUPIED, RoomStatus.AVAILABLE, changedBy);
     }
 
     // Mark room for maintenance
@@ -191,47 +457,126 @@ public class RoomService {
         return statusHistoryRepository.findMaintenanceRoomsByDate(date);
     }
 
-    // ========== ROOM STATUS HISTORY QUERIES ==========
+    // ========== CALENDAR BACKED STATUS QUERIES ==========
 
-    // Get complete status history for a room
-    public List<RoomStatusHistory> getRoomStatusHistory(String roomNumber) {
-        Room room = getRoomByNumber(roomNumber);
-        if (room == null) {
-            throw new RuntimeException("Room with number " + roomNumber + " not found");
+    // Available rooms for a date, answered from the in-memory calendar when the date is indexed
+    public List<RoomAvailabilityDTO> getAvailableRoomSummariesByDate(LocalDate date) {
+        if (!availabilityCalendar.covers(date)) {
+            return statusHistoryRepository.findAvailableRoomSummariesByDate(date);
         }
-        return statusHistoryRepository.findByRoomOrderByDateDesc(room);
+        return availabilityCalendar.findRooms(date, RoomStatus.AVAILABLE).stream()
+                .map(RoomMapper::toRoomAvailabilityDTO)
+                .toList();
     }
 
-    // Get status history for a room on a specific date
-    public List<RoomStatusHistory> getRoomStatusHistoryByDate(String roomNumber, LocalDate date) {
-        Room room = getRoomByNumber(roomNumber);
-        if (room == null) {
-            throw new RuntimeException("Room with number " + roomNumber + " not found");
+    // Rooms in the given status for a date, answered from the in-memory calendar when the date is indexed
+    public List<RoomStatusSnapshotDTO> getRoomStatusSnapshotsByDate(RoomStatus status, LocalDate date) {
+        if (!availabilityCalendar.covers(date)) {
+            return statusHistoryRepository.findStatusSnapshotsByDate(status, date);
         }
-        return statusHistoryRepository.findByRoomAndDate(room, date);
+        return availabilityCalendar.findRooms(date, status).stream()
+                .map(room -> RoomMapper.toRoomStatusSnapshotDTO(room, date, status))
+                .toList();
     }
 
-    // Get status history for a room within a date range
-    public List<RoomStatusHistory> getRoomStatusHistoryByDateRange(String roomNumber, LocalDate startDate, LocalDate endDate) {
-        Room room = getRoomByNumber(roomNumber);
-        if (room == null) {
-            throw new RuntimeException("Room with number " + roomNumber + " not found");
+    /**
+     * Rooms that are AVAILABLE on every night of [from, to), optionally filtered by type and minimum capacity.
+     * Nights without any history count as not bookable, matching the by-date endpoints.
+     * Answered from the calendar when the whole range is indexed, otherwise from one history scan over the range.
+     */
+    public List<RoomAvailabilityDTO> searchAvailableRooms(LocalDate from, LocalDate to, RoomType type, Integer minCapacity) {
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("'to' must be after 'from'");
         }
-        return statusHistoryRepository.findByRoomAndDateBetweenOrderByDateDesc(room, startDate, endDate);
+
+        if (availabilityCalendar.covers(from) && availabilityCalendar.covers(to.minusDays(1))) {
+            return availabilityCalendar.findRoomsForEveryNight(from, to, RoomStatus.AVAILABLE).stream()
+                    .filter(room -> type == null || room.getRoomType() == type)
+                    .filter(room -> minCapacity == null || room.getCapacity() >= minCapacity)
+                    .map(RoomMapper::toRoomAvailabilityDTO)
+                    .toList();
+        }
+
+        // latest status per (room, date); cells arrive oldest change first so later ones overwrite
+        int nights = (int) (to.toEpochDay() - from.toEpochDay());
+        Map<String, RoomStatus[]> nightsByRoom = new HashMap<>();
+        for (RoomStatusCellProjection cell : statusHistoryRepository.findStatusCellsBetween(from, to.minusDays(1))) {
+            nightsByRoom.computeIfAbsent(cell.getRoomId(), id -> new RoomStatus[nights])
+                    [(int) (cell.getDate().toEpochDay() - from.toEpochDay())] = cell.getStatus();
+        }
+
+        return roomRepository.findAllSummaries().stream()
+                .filter(room -> type == null || room.getRoomType() == type)
+                .filter(room -> minCapacity == null || room.getCapacity() >= minCapacity)
+                .filter(room -> {
+                    RoomStatus[] statuses = nightsByRoom.get(room.getRoomId());
+                    return statuses != null
+                            && Arrays.stream(statuses).allMatch(s -> s == RoomStatus.AVAILABLE);
+                })
+                .sorted(Comparator.comparing(RoomSummaryProjection::getRoomNumber))
+                .map(RoomMapper::toRoomAvailabilityDTO)
+                .toList();
     }
 
-    // Get latest status for a room
-    public RoomStatusHistory getLatestRoomStatus(String roomNumber) {
-        Room room = getRoomByNumber(roomNumber);
-        if (room == null) {
-            throw new RuntimeException("Room with number " + roomNumber + " not found");
+    // ========== ROOM STATUS HISTORY QUERIES ==========
+
+    // Get complete status history for a room
+    public List<RoomStatusHistoryDTO> getRoomStatusHistory(String roomNumber) {
+        return statusHistoryRepository.findHistoryForRoom(requireRoomId(roomNumber));
+    }
+
+    // Get status history for a room on a specific date, falling back to compacted segments
+    public List<RoomStatusHistoryDTO> getRoomStatusHistoryByDate(String roomNumber, LocalDate date) {
+        String roomId = requireRoomId(roomNumber);
+        return mergeSegments(roomId, roomNumber, statusHistoryRepository.findHistoryForRoomOnDate(roomId, date), date, date);
+    }
+
+    // Get status history for a room within a date range, live rows merged with compacted segments
+    public List<RoomStatusHistoryDTO> getRoomStatusHistoryByDateRange(String roomNumber, LocalDate startDate, LocalDate endDate) {
+        String roomId = requireRoomId(roomNumber);
+        return mergeSegments(roomId, roomNumber,
+                statusHistoryRepository.findHistoryForRoomBetween(roomId, startDate, endDate), startDate, endDate);
+    }
+
+    // Expand segments overlapping [startDate, endDate] to one row per day; a day with live rows keeps only those
+    private List<RoomStatusHistoryDTO> mergeSegments(String roomId, String roomNumber, List<RoomStatusHistoryDTO> live,
+                                                     LocalDate startDate, LocalDate endDate) {
+        List<RoomStatusSegment> segments = segmentRepository.findOverlapping(roomId, startDate, endDate);
+        if (segments.isEmpty()) {
+            return live;
+        }
+        List<RoomStatusHistoryDTO> rows = new ArrayList<>(live);
+
+        Set<LocalDate> liveDates = new HashSet<>();
+        for (RoomStatusHistoryDTO row : live) {
+            liveDates.add(row.getDate());
         }
-        return statusHistoryRepository.findLatestStatusByRoom(room);
+        for (RoomStatusSegment segment : segments) {
+            LocalDate from = segment.getFromDate().isBefore(startDate) ? startDate : segment.getFromDate();
+            LocalDate to = segment.getToDate().isAfter(endDate) ? endDate : segment.getToDate();
+            for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+                if (!liveDates.contains(date)) {
+                    rows.add(RoomMapper.toRoomStatusHistoryDTO(roomId, roomNumber, segment.getStatus(), date));
+                }
+            }
+        }
+        // stable sort keeps the repository order of live rows within a day
+        rows.sort(Comparator.comparing(RoomStatusHistoryDTO::getDate).reversed());
+        return rows;
+    }
+
+    // Get latest status for a room: a primary key lookup on the current status projection
+    public RoomStatusHistoryDTO getLatestRoomStatus(String roomNumber) {
+        String roomId = requireRoomId(roomNumber);
+        return currentStatusRepository.findById(roomId)
+                .map(current -> new RoomStatusHistoryDTO(current.getHistoryId(), roomNumber, roomId,
+                        current.getDate(), current.getStatus(), current.getChangedBy(), current.getChangedAt()))
+                .orElse(null);
     }
 
     // Get status history for all rooms on a specific date
-    public List<RoomStatusHistory> getAllRoomsStatusHistoryByDate(LocalDate date) {
-        return statusHistoryRepository.findByDateOrderByChangedAtDesc(date);
+    public List<RoomStatusHistoryDTO> getAllRoomsStatusHistoryByDate(LocalDate date) {
+        return statusHistoryRepository.findHistoryForDate(date);
     }
 
     // Get all rooms with a specific status
@@ -239,6 +584,78 @@ public class RoomService {
         return statusHistoryRepository.findByStatusOrderByDateDesc(status);
     }
 
+    // ========== PAGED AND STREAMED HISTORY ==========
+
+    // Keyset page of a room's history, newest first; cursor is null for the first page
+    public StatusHistoryPageDTO getRoomStatusHistoryPage(String roomId, String cursor, int limit) {
+        int size = pageSize(limit);
+        List<RoomStatusHistoryDTO> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = statusHistoryRepository.findHistoryPageForRoom(roomId, Limit.of(size + 1));
+        } else {
+            HistoryCursor after = HistoryCursor.decode(cursor);
+            rows = statusHistoryRepository.findHistoryPageForRoomAfter(roomId,
+                    after.getDate(), after.getChangedAt(), after.getId(), Limit.of(size + 1));
+        }
+        return toPage(rows, size);
+    }
+
+    // Keyset page of every room's history on a date, newest change first
+    public StatusHistoryPageDTO getAllRoomsStatusHistoryPageByDate(LocalDate date, String cursor, int limit) {
+        int size = pageSize(limit);
+        List<RoomStatusHistoryDTO> rows;
+        if (cursor == null || cursor.isBlank()) {
+            rows = statusHistoryRepository.findHistoryPageForDate(date, Limit.of(size + 1));
+        } else {
+            HistoryCursor after = HistoryCursor.decode(cursor);
+            if (!date.equals(after.getDate())) {
+                throw new IllegalArgumentException("Cursor does not belong to date " + date);
+            }
+            rows = statusHistoryRepository.findHistoryPageForDateAfter(date,
+                    after.getChangedAt(), after.getId(), Limit.of(size + 1));
+        }
+        return toPage(rows, size);
+    }
+
+    // Feed a room's whole history to the sink row by row; returns the number of rows written
+    @Transactional(readOnly = true)
+    public long streamRoomStatusHistory(String roomId, Consumer<RoomStatusHistoryDTO> sink) {
+        try (Stream<RoomStatusHistoryDTO> rows = statusHistoryRepository.streamHistoryForRoom(roomId)) {
+            long[] written = {0};
+            rows.forEach(row -> {
+                sink.accept(row);
+                written[0]++;
+            });
+            return written[0];
+        }
+    }
+
+    // Feed every room's history on a date to the sink row by row; returns the number of rows written
+    @Transactional(readOnly = true)
+    public long streamAllRoomsStatusHistoryByDate(LocalDate date, Consumer<RoomStatusHistoryDTO> sink) {
+        try (Stream<RoomStatusHistoryDTO> rows = statusHistoryRepository.streamHistoryForDate(date)) {
+            long[] written = {0};
+            rows.forEach(row -> {
+                sink.accept(row);
+                written[0]++;
+            });
+            return written[0];
+        }
+    }
+
+    private static int pageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_HISTORY_PAGE_SIZE));
+    }
+
+    // rows holds up to size + 1 entries; the extra one only signals that another page exists
+    private static StatusHistoryPageDTO toPage(List<RoomStatusHistoryDTO> rows, int size) {
+        if (rows.size() <= size) {
+            return new StatusHistoryPageDTO(rows, null);
+        }
+        List<RoomStatusHistoryDTO> items = rows.subList(0, size);
+        return new StatusHistoryPageDTO(items, HistoryCursor.of(items.get(size - 1)).encode());
+    }
+
     // ----------------------- history assistance -----------------------
 
     /**
@@ -246,155 +663,179 @@ public class RoomService {
      * If an entry already exists for a date it will be skipped (idempotent).
      * History is added with random status based on configured probabilities.
      */
-    public void generateHistoryForRoom(Room room, int daysAhead) {
-        LocalDate today = LocalDate.now();
-        for (int i = 0; i < daysAhead; i++) {
-            LocalDate date = today.plusDays(i);
-            // skip if already present
-            List<RoomStatusHistory> existing = statusHistoryRepository.findByRoomAndDate(room, date);
-            if (!existing.isEmpty()) continue;
-
-            RoomStatus randomStatus = pickRandomStatus();
-            RoomStatusHistory history = new RoomStatusHistory();
-            history.setRoom(room);
-            history.setDate(date);
-            history.setStatus(randomStatus);
-            history.setChangedBy("SYSTEM");
-            history.setChangedAt(LocalDateTime.now());
-            statusHistoryRepository.save(history);
-        }
+    public HistoryGenerationResult generateHistoryForRoom(Room room, int daysAhead) {
+        return historyGenerator.generate(List.of(room), daysAhead);
     }
 
-    private RoomStatus pickRandomStatus() {
-        double r = Math.random();
-        if (r < 0.7) return RoomStatus.AVAILABLE;
-        if (r < 0.9) return RoomStatus.OCCUPIED;
-        return RoomStatus.MAINTENANCE;
+    // Bulk variant of generateHistoryForRoom: one existence query and batched inserts for all rooms
+    public HistoryGenerationResult generateHistoryForRooms(List<Room> rooms, int daysAhead) {
+        return historyGenerator.generate(rooms, daysAhead);
     }
 
-    // scheduled job ensures each room always has at least 30 days of history ahead
-    @Scheduled(cron = "0 0 0 * * ?") // every midnight
+    // full refresh: re-checks every day of the horizon and fills any gap (the nightly run is HistoryRefreshJob)
     public void refreshHistory() {
         List<Room> rooms = getAllRooms();
-        for (Room r : rooms) {
-            generateHistoryForRoom(r, 30);
-        }
-        System.out.println("[Scheduled] room status history refreshed for " + rooms.size() + " rooms");
+        HistoryGenerationResult result = historyGenerator.generateForAll(rooms, 30);
+        // re-anchor the in-memory calendar on the new day
+        availabilityCalendar.rebuild();
+        System.out.println("Room status history refreshed: " + result);
     }
 
     // ========== ADDITIONAL ENDPOINTS ==========
 
     /**
-     * Get room type summary information
+     * Get room type summary information (served from the room type catalog)
      */
     public List<RoomTypeSummaryDTO> getRoomTypeSummary() {
-        // Ensure room types exist (fallback if DataInitializer didn't run)
-        ensureRoomTypesExist();
-        
-        List<RoomTypeEntity> roomTypes = roomTypeRepository.findAll();
-        return roomTypes.stream()
-                .map(entity -> new RoomTypeSummaryDTO(
-                        entity.getRoomType().toString(),
-                        entity.getPricePerNight(),
-                        entity.getRoomType() == RoomType.SINGLE ? 1 : 2, // capacity based on type
-                        entity.getImagePath()
-                ))
-                .toList();
+        return roomTypeService.getRoomTypeSummaries();
     }
 
     /**
-     * Get room type image path
+     * Get room type image path (served from the room type catalog)
      */
     public String getRoomTypeImage(RoomType roomType) {
-        // Ensure room types exist (fallback if DataInitializer didn't run)
-        ensureRoomTypesExist();
-        
-        RoomTypeEntity entity = roomTypeRepository.findByRoomType(roomType);
-        return entity != null ? entity.getImagePath() : "Image not found for room type: " + roomType;
+        String imagePath = roomTypeService.getImagePath(roomType);
+        return imagePath != null ? imagePath : "Image not found for room type: " + roomType;
     }
 
     /**
-     * Ensure room types exist in database (fallback method)
+     * Get overall room statistics
+     * Served from a short-lived snapshot so dashboards polling every few seconds share one computation.
      */
-    private void ensureRoomTypesExist() {
-        // Check and create SINGLE type
-        if (roomTypeRepository.findByRoomType(RoomType.SINGLE) == null) {
-            RoomTypeEntity singleType = new RoomTypeEntity();
-            singleType.setRoomType(RoomType.SINGLE);
-            singleType.setPricePerNight(5000.0);
-            singleType.setImagePath("/Upload/Single.jpg");
-            roomTypeRepository.saveAndFlush(singleType);
-        }
-        
-        // Check and create DOUBLE type
-        if (roomTypeRepository.findByRoomType(RoomType.DOUBLE) == null) {
-            RoomTypeEntity doubleType = new RoomTypeEntity();
-            doubleType.setRoomType(RoomType.DOUBLE);
-            doubleType.setPricePerNight(8000.0);
-            doubleType.setImagePath("/Upload/Double.jpg");
-            roomTypeRepository.saveAndFlush(doubleType);
-        }
-        
-        // Check and create DELUXE type
-        if (roomTypeRepository.findByRoomType(RoomType.DELUXE) == null) {
-            RoomTypeEntity deluxeType = new RoomTypeEntity();
-            deluxeType.setRoomType(RoomType.DELUXE);
-            deluxeType.setPricePerNight(12000.0);
-            deluxeType.setImagePath("/Upload/Deluxe.jpg");
-            roomTypeRepository.saveAndFlush(deluxeType);
+    public StatisticsDTO getStatistics() {
+        StatisticsSnapshot snapshot = statisticsSnapshot;
+        if (snapshot != null && !snapshot.isExpired(statisticsTtlMillis)) {
+            return snapshot.statistics;
+        }
+        synchronized (statisticsLock) {
+            // another caller may have refreshed it while we waited
+            snapshot = statisticsSnapshot;
+            if (snapshot == null || snapshot.isExpired(statisticsTtlMillis)) {
+                snapshot = new StatisticsSnapshot(computeStatistics());
+                statisticsSnapshot = snapshot;
+            }
+            return snapshot.statistics;
         }
     }
 
-    /**
-     * Get overall room statistics
-     */
-    public StatisticsDTO getStatistics() {
+    // Count-only aggregation: one GROUP BY status query for today plus the room count, no entity hydration
+    private StatisticsDTO computeStatistics() {
         int totalRooms = (int) roomRepository.count();
-        int availableRooms = getAvailableRooms().size();
-        int occupiedRooms = getOccupiedRooms().size();
-        int maintenanceRooms = getMaintenanceRooms().size();
+        int[] byStatus = new int[RoomStatus.values().length];
+        for (StatusCountProjection count : statusHistoryRepository.countByStatusForDate(LocalDate.now())) {
+            byStatus[count.getStatus().ordinal()] = (int) count.getRows();
+        }
 
-        return new StatisticsDTO(totalRooms, availableRooms, occupiedRooms, maintenanceRooms);
+        return new StatisticsDTO(totalRooms,
+                byStatus[RoomStatus.AVAILABLE.ordinal()],
+                byStatus[RoomStatus.OCCUPIED.ordinal()],
+                byStatus[RoomStatus.MAINTENANCE.ordinal()]);
+    }
+
+    private static final class StatisticsSnapshot {
+        private final StatisticsDTO statistics;
+        private final long computedAt = System.currentTimeMillis();
+
+        StatisticsSnapshot(StatisticsDTO statistics) {
+            this.statistics = statistics;
+        }
+
+        boolean isExpired(long ttlMillis) {
+            return System.currentTimeMillis() - computedAt >= ttlMillis;
+        }
     }
 
     /**
      * Get statistics broken down by room type
+     * Computed by a single aggregate query instead of one latest-status lookup per room,
+     * with prices from the room type catalog.
      */
     public StatisticsByTypeDTO getStatisticsByType() {
-        List<Room> allRooms = getAllRooms();
-        java.util.Map<String, StatisticsByTypeDTO.TypeStatistics> statsMap = new java.util.HashMap<>();
-
-        // Initialize stats for each room type
+        // per type: total, available, occupied, maintenance
+        Map<RoomType, int[]> counts = new EnumMap<>(RoomType.class);
         for (RoomType type : RoomType.values()) {
-            RoomTypeEntity typeEntity = roomTypeRepository.findByRoomType(type);
-            double price = typeEntity != null ? typeEntity.getPricePerNight() : 0.0;
-            statsMap.put(type.toString(), new StatisticsByTypeDTO.TypeStatistics(type.toString(), 0, 0, 0, 0, price));
-        }
-
-        // Count rooms by type and status
-        for (Room room : allRooms) {
-            String typeKey = room.getRoomType().toString();
-            StatisticsByTypeDTO.TypeStatistics stats = statsMap.get(typeKey);
-
-            if (stats != null) {
-                stats.setTotal(stats.getTotal() + 1);
-
-                // Get latest status for this room
-                RoomStatusHistory latestStatus = statusHistoryRepository.findLatestStatusByRoom(room);
-                if (latestStatus != null) {
-                    RoomStatus status = latestStatus.getStatus();
-                    if (status == RoomStatus.AVAILABLE) {
-                        stats.setAvailable(stats.getAvailable() + 1);
-                    } else if (status == RoomStatus.OCCUPIED) {
-                        stats.setOccupied(stats.getOccupied() + 1);
-                    } else if (status == RoomStatus.MAINTENANCE) {
-                        stats.setMaintenance(stats.getMaintenance() + 1);
-                    }
-                }
+            counts.put(type, new int[4]);
+        }
+
+        for (TypeStatusCountProjection group : roomRepository.countRoomsByTypeAndLatestStatus()) {
+            int[] typeCounts = counts.get(group.getRoomType());
+            int rooms = (int) group.getRooms();
+            typeCounts[0] += rooms;
+            if (group.getStatus() != null) {
+                typeCounts[group.getStatus().ordinal() + 1] += rooms;
             }
         }
 
+        Map<String, StatisticsByTypeDTO.TypeStatistics> statsMap = new HashMap<>();
+        for (RoomType type : RoomType.values()) {
+            int[] c = counts.get(type);
+            statsMap.put(type.toString(), new StatisticsByTypeDTO.TypeStatistics(
+                    type.toString(),
+                    c[0],
+                    c[RoomStatus.AVAILABLE.ordinal() + 1],
+                    c[RoomStatus.OCCUPIED.ordinal() + 1],
+                    c[RoomStatus.MAINTENANCE.ordinal() + 1],
+                    roomTypeService.getPricePerNight(type)));
+        }
+
         return new StatisticsByTypeDTO(statsMap);
     }
 
+    /**
+     * Occupancy per room type and period between from and to (inclusive).
+     * Read only from the daily occupancy rollup: at most one row per day, room type and status.
+     */
+    public List<OccupancyDTO> getOccupancy(LocalDate from, LocalDate to, OccupancyGroupBy groupBy) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("'to' must not be before 'from'");
+        }
+
+        // period start -> per type: room-nights per status ordinal, then occupied revenue
+        Map<LocalDate, Map<RoomType, double[]>> periods = new TreeMap<>();
+        for (RoomOccupancyDaily cell : occupancyRepository.findCellsBetween(from, to)) {
+            if (cell.getRooms() == 0) continue;
+            double[] sums = periods.computeIfAbsent(periodStart(cell.getDate(), from, groupBy),
+                    start -> new EnumMap<>(RoomType.class)).computeIfAbsent(cell.getRoomType(), type -> new double[4]);
+            sums[cell.getStatus().ordinal()] += cell.getRooms();
+            if (cell.getStatus() == RoomStatus.OCCUPIED) {
+                sums[3] += cell.getRevenue();
+            }
+        }
+
+        List<OccupancyDTO> result = new ArrayList<>();
+        for (Map.Entry<LocalDate, Map<RoomType, double[]>> period : periods.entrySet()) {
+            LocalDate end = periodEnd(period.getKey(), to, groupBy);
+            for (Map.Entry<RoomType, double[]> type : period.getValue().entrySet()) {
+                double[] sums = type.getValue();
+                result.add(new OccupancyDTO(period.getKey(), end, type.getKey(),
+                        (long) sums[RoomStatus.OCCUPIED.ordinal()],
+                        (long) sums[RoomStatus.AVAILABLE.ordinal()],
+                        (long) sums[RoomStatus.MAINTENANCE.ordinal()],
+                        sums[3]));
+            }
+        }
+        return result;
+    }
+
+    // first day of the period holding date, clipped to the requested range
+    private static LocalDate periodStart(LocalDate date, LocalDate from, OccupancyGroupBy groupBy) {
+        LocalDate start = switch (groupBy) {
+            case DAY -> date;
+            case WEEK -> date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTH -> date.withDayOfMonth(1);
+            case RANGE -> from;
+        };
+        return start.isBefore(from) ? from : start;
+    }
+
+    private static LocalDate periodEnd(LocalDate start, LocalDate to, OccupancyGroupBy groupBy) {
+        LocalDate end = switch (groupBy) {
+            case DAY -> start;
+            case WEEK -> start.with(TemporalAdjusters.nextOrSame(DayOfWeek.SUNDAY));
+            case MONTH -> start.with(TemporalAdjusters.lastDayOfMonth());
+            case RANGE -> to;
+        };
+        return end.isAfter(to) ? to : end;
+    }
+
 }
@@ -0,0 +1,117 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import com.nsbm.group03.roomManagementService.Entity.TimeOrderedId;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Repository.RoomCurrentStatusRepository;
+
+/**
+ * Writes many room status history rows with JDBC batching and keeps the derived state in step:
+ * the current status projection is moved to each room's newest written row and the availability
+ * calendar and the occupancy rollup are updated once the transaction commits. Callers provide the transaction.
+ *
+ * A row is Object[] { id, roomId, java.sql.Date date, status name, changedBy, java.sql.Timestamp changedAt },
+ * with both ids in text form; they are bound as BINARY(16).
+ */
+@Component
+public class RoomStatusBatchWriter {
+
+    private static final String INSERT_SQL =
+            "INSERT INTO room_status_history (id, room_id, date, status, changed_by, changed_at) VALUES (?, ?, ?, ?, ?, ?)";
+
+    private static final String UPDATE_ROOM_STATUS_SQL = "UPDATE room SET status = ?, version = version + 1 WHERE room_id = ?";
+
+    private static final String UPDATE_CURRENT_SQL =
+            "UPDATE room_current_status SET history_id = ?, date = ?, status = ?, changed_by = ?, changed_at = ? WHERE room_id = ?";
+
+    private static final String INSERT_CURRENT_SQL =
+            "INSERT INTO room_current_status (history_id, date, status, changed_by, changed_at, room_id) VALUES (?, ?, ?, ?, ?, ?)";
+
+    // newest row first: greatest changed_at, ties broken by the greatest id
+    private static final Comparator<Object[]> NEWEST_LAST =
+            Comparator.comparing((Object[] row) -> (Timestamp) row[5]).thenComparing(row -> (String) row[0]);
+
+    private final JdbcTemplate jdbcTemplate;
+    private final RoomCurrentStatusRepository currentStatusRepository;
+    private final RoomAvailabilityCalendar availabilityCalendar;
+    private final RoomOccupancyCube occupancyCube;
+    private final int batchSize;
+
+    public RoomStatusBatchWriter(JdbcTemplate jdbcTemplate,
+                                 RoomCurrentStatusRepository currentStatusRepository,
+                                 RoomAvailabilityCalendar availabilityCalendar,
+                                 RoomOccupancyCube occupancyCube,
+                                 @Value("${room.history.batch-size:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.currentStatusRepository = currentStatusRepository;
+        this.availabilityCalendar = availabilityCalendar;
+        this.occupancyCube = occupancyCube;
+        this.batchSize = batchSize;
+    }
+
+    public void write(List<Object[]> rows) {
+        List<Object[]> params = new ArrayList<>(Math.min(batchSize, rows.size()));
+        for (Object[] row : rows) {
+            params.add(new Object[] {
+                    TimeOrderedId.toBytes((String) row[0]), TimeOrderedId.toBytes((String) row[1]),
+                    row[2], row[3], row[4], row[5]
+            });
+            if (params.size() == batchSize) {
+                jdbcTemplate.batchUpdate(INSERT_SQL, params);
+                params.clear();
+            }
+        }
+        if (!params.isEmpty()) jdbcTemplate.batchUpdate(INSERT_SQL, params);
+        updateCurrentStatus(rows);
+        for (Object[] row : rows) {
+            availabilityCalendar.record((String) row[1], ((Date) row[2]).toLocalDate(), RoomStatus.valueOf((String) row[3]));
+        }
+        occupancyCube.recordRows(rows);
+    }
+
+    /**
+     * Set Room.status of many rooms (room id -> status) in one batch, bumping their version like a JPA update would.
+     */
+    public void updateRoomStatuses(Map<String, RoomStatus> statusByRoomId) {
+        List<Object[]> params = new ArrayList<>(statusByRoomId.size());
+        for (Map.Entry<String, RoomStatus> entry : statusByRoomId.entrySet()) {
+            params.add(new Object[] { entry.getValue().name(), TimeOrderedId.toBytes(entry.getKey()) });
+        }
+        if (!params.isEmpty()) jdbcTemplate.batchUpdate(UPDATE_ROOM_STATUS_SQL, params);
+    }
+
+    private void updateCurrentStatus(List<Object[]> rows) {
+        Map<String, Object[]> latestByRoom = new HashMap<>();
+        for (Object[] row : rows) {
+            latestByRoom.merge((String) row[1], row, (a, b) -> NEWEST_LAST.compare(a, b) >= 0 ? a : b);
+        }
+        if (latestByRoom.isEmpty()) return;
+
+        Set<String> existing = new HashSet<>(currentStatusRepository.findExistingRoomIds(latestByRoom.keySet()));
+        List<Object[]> updates = new ArrayList<>();
+        List<Object[]> inserts = new ArrayList<>();
+        for (Object[] row : latestByRoom.values()) {
+            // history_id, date, status, changed_by, changed_at, room_id
+            Object[] params = {
+                    TimeOrderedId.toBytes((String) row[0]), row[2], row[3], row[4], row[5],
+                    TimeOrderedId.toBytes((String) row[1])
+            };
+            (existing.contains((String) row[1]) ? updates : inserts).add(params);
+        }
+        if (!updates.isEmpty()) jdbcTemplate.batchUpdate(UPDATE_CURRENT_SQL, updates);
+        if (!inserts.isEmpty()) jdbcTemplate.batchUpdate(INSERT_CURRENT_SQL, inserts);
+    }
+}
@@ -1,5 +1,161 @@
 package com.nsbm.group03.roomManagementService.Service;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import com.nsbm.group03.roomManagementService.Dto.RoomTypeSummaryDTO;
+import com.nsbm.group03.roomManagementService.Entity.RoomTypeEntity;
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+import com.nsbm.group03.roomManagementService.Repository.RoomTypeRepository;
+
+/**
+ * Room type catalog.
+ * All RoomTypeEntity rows are loaded once into an immutable in-memory map and the map is
+ * replaced whenever a room type is written through this service, so summary, image path and
+ * price lookups never touch the database.
+ */
+@Service
 public class RoomTypeService {
-    
+
+    @Autowired
+    private RoomTypeRepository roomTypeRepository;
+
+    @Autowired
+    private RoomImageVariantService imageVariantService;
+
+    private volatile Map<RoomType, CatalogEntry> catalog;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        // render any image variants that are missing or older than their original
+        for (CatalogEntry entry : catalog().values()) {
+            if (entry.getImagePath() != null) {
+                imageVariantService.generateVariants(entry.getImagePath());
+            }
+        }
+    }
+
+    // ========== CATALOG LOOKUPS ==========
+
+    /**
+     * Get room type summary information
+     */
+    public List<RoomTypeSummaryDTO> getRoomTypeSummaries() {
+        return catalog().values().stream()
+                .map(entry -> new RoomTypeSummaryDTO(
+                        entry.getRoomType().toString(),
+                        entry.getPricePerNight(),
+                        entry.getCapacity(),
+                        entry.getImagePath()))
+                .toList();
+    }
+
+    /**
+     * Get room type image path, or null when the type has no catalog entry
+     */
+    public String getImagePath(RoomType roomType) {
+        CatalogEntry entry = catalog().get(roomType);
+        return entry != null ? entry.getImagePath() : null;
+    }
+
+    /**
+     * Get room type price per night, 0 when the type has no catalog entry
+     */
+    public double getPricePerNight(RoomType roomType) {
+        CatalogEntry entry = catalog().get(roomType);
+        return entry != null ? entry.getPricePerNight() : 0.0;
+    }
+
+    // ========== WRITES ==========
+
+    /**
+     * Save a room type, render its image variants and refresh the catalog
+     */
+    public RoomTypeEntity saveRoomType(RoomTypeEntity roomType) {
+        RoomTypeEntity saved = roomTypeRepository.saveAndFlush(roomType);
+        if (saved.getImagePath() != null) {
+            imageVariantService.generateVariants(saved.getImagePath());
+        }
+        refresh();
+        return saved;
+    }
+
+    /**
+     * Reload the catalog from the database
+     */
+    public synchronized void refresh() {
+        Map<RoomType, CatalogEntry> entries = new EnumMap<>(RoomType.class);
+        for (RoomTypeEntity entity : roomTypeRepository.findAll()) {
+            entries.put(entity.getRoomType(), CatalogEntry.of(entity));
+        }
+        catalog = Collections.unmodifiableMap(entries);
+    }
+
+    private Map<RoomType, CatalogEntry> catalog() {
+        Map<RoomType, CatalogEntry> current = catalog;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (catalog == null) {
+                ensureRoomTypesExist();
+                refresh();
+            }
+            return catalog;
+        }
+    }
+
+    /**
+     * Ensure room types exist in database (fallback if DataInitializer didn't create them)
+     */
+    private void ensureRoomTypesExist() {
+        ensureRoomType(RoomType.SINGLE, 5000.0, "/Upload/Single.jpg");
+        ensureRoomType(RoomType.DOUBLE, 8000.0, "/Upload/Double.jpg");
+        ensureRoomType(RoomType.DELUXE, 12000.0, "/Upload/Deluxe.jpg");
+    }
+
+    private void ensureRoomType(RoomType type, double pricePerNight, String imagePath) {
+        if (roomTypeRepository.findByRoomType(type) == null) {
+            RoomTypeEntity entity = new RoomTypeEntity();
+            entity.setRoomType(type);
+            entity.setPricePerNight(pricePerNight);
+            entity.setImagePath(imagePath);
+            roomTypeRepository.saveAndFlush(entity);
+        }
+    }
+
+    /**
+     * Immutable catalog entry for one room type
+     */
+    public static final class CatalogEntry {
+        private final RoomType roomType;
+        private final double pricePerNight;
+        private final int capacity;
+        private final String imagePath;
+
+        private CatalogEntry(RoomType roomType, double pricePerNight, int capacity, String imagePath) {
+            this.roomType = roomType;
+            this.pricePerNight = pricePerNight;
+            this.capacity = capacity;
+            this.imagePath = imagePath;
+        }
+
+        static CatalogEntry of(RoomTypeEntity entity) {
+            // capacity based on type
+            int capacity = entity.getRoomType() == RoomType.SINGLE ? 1 : 2;
+            return new CatalogEntry(entity.getRoomType(), entity.getPricePerNight(), capacity, entity.getImagePath());
+        }
+
+        public RoomType getRoomType() { return roomType; }
+        public double getPricePerNight() { return pricePerNight; }
+        public int getCapacity() { return capacity; }
+        public String getImagePath() { return imagePath; }
+    }
 }
@@ -0,0 +1,61 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Database leases for scheduled jobs that must run on one instance only.
+ * A lease is taken with a single conditional UPDATE (free or expired, or already ours),
+ * or an INSERT the first time; the primary key makes concurrent first inserts race safely.
+ */
+@Service
+public class SchedulerLeaseService {
+
+    private static final String TAKE_SQL =
+            "UPDATE scheduler_lease SET owner = ?, leased_until = ? WHERE name = ? AND (leased_until < ? OR owner = ?)";
+
+    private static final String INSERT_SQL =
+            "INSERT INTO scheduler_lease (name, owner, leased_until) VALUES (?, ?, ?)";
+
+    private static final String RELEASE_SQL =
+            "UPDATE scheduler_lease SET leased_until = ? WHERE name = ? AND owner = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // one identity per running instance
+    private final String owner = UUID.randomUUID().toString();
+
+    public SchedulerLeaseService(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Try to take the named lease for the given duration; false when another instance holds it.
+     */
+    public boolean tryAcquire(String name, Duration duration) {
+        LocalDateTime now = LocalDateTime.now();
+        Timestamp until = Timestamp.valueOf(now.plus(duration));
+        if (jdbcTemplate.update(TAKE_SQL, owner, until, name, Timestamp.valueOf(now), owner) == 1) {
+            return true;
+        }
+        try {
+            return jdbcTemplate.update(INSERT_SQL, name, owner, until) == 1;
+        } catch (DataIntegrityViolationException e) {
+            // the row exists and is held by someone else
+            return false;
+        }
+    }
+
+    /**
+     * Give the lease back early so another instance can take it without waiting for expiry.
+     */
+    public void release(String name) {
+        jdbcTemplate.update(RELEASE_SQL, Timestamp.valueOf(LocalDateTime.now()), name, owner);
+    }
+}
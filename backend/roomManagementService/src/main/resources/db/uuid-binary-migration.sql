@@ -0,0 +1,54 @@
+-- Moves room and room status history ids from VARCHAR text to BINARY(16) (MySQL 8).
+-- Run once, with the service stopped, before starting the version that maps ids as binary(16):
+--   mysql -u root -p hms < src/main/resources/db/uuid-binary-migration.sql
+-- Existing ids keep their value (UUID_TO_BIN without swapping, so byte order matches text order);
+-- ids created from then on are time ordered (TimeOrderedId).
+--
+-- room_current_status is dropped and NOT recreated here. On the first start Hibernate creates it empty and
+-- CurrentStatusRepairJob refills it from history once the application is ready. Until its
+-- "[CurrentStatus] repaired ..." line is logged, current-status reads and statistics come back empty,
+-- so keep the instance out of the load balancer until then.
+
+-- the foreign key and the indexes that reference the id columns are recreated at the end;
+-- the key was created under a generated name, so look it up instead of naming it
+SET @fk_rsh_room = (SELECT CONSTRAINT_NAME FROM information_schema.KEY_COLUMN_USAGE
+    WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = 'room_status_history'
+      AND COLUMN_NAME = 'room_id' AND REFERENCED_TABLE_NAME = 'room' LIMIT 1);
+SET @drop_fk_rsh_room = IF(@fk_rsh_room IS NULL, 'DO 0',
+    CONCAT('ALTER TABLE room_status_history DROP FOREIGN KEY `', @fk_rsh_room, '`'));
+PREPARE drop_fk_rsh_room FROM @drop_fk_rsh_room;
+EXECUTE drop_fk_rsh_room;
+DEALLOCATE PREPARE drop_fk_rsh_room;
+ALTER TABLE room_status_history
+    DROP INDEX idx_rsh_room_date,
+    DROP INDEX idx_rsh_room_changed,
+    DROP INDEX idx_rsh_date_changed;
+ALTER TABLE room_status_segment DROP INDEX idx_segment_room_from;
+
+-- derived from history: rebuilt by CurrentStatusRepairJob on startup (see the note above)
+DROP TABLE room_current_status;
+
+ALTER TABLE room ADD COLUMN room_id_bin BINARY(16);
+UPDATE room SET room_id_bin = UUID_TO_BIN(room_id);
+ALTER TABLE room DROP PRIMARY KEY, DROP COLUMN room_id;
+ALTER TABLE room CHANGE room_id_bin room_id BINARY(16) NOT NULL FIRST, ADD PRIMARY KEY (room_id);
+
+ALTER TABLE room_status_history ADD COLUMN id_bin BINARY(16), ADD COLUMN room_id_bin BINARY(16);
+UPDATE room_status_history SET id_bin = UUID_TO_BIN(id), room_id_bin = UUID_TO_BIN(room_id);
+ALTER TABLE room_status_history DROP PRIMARY KEY, DROP COLUMN id, DROP COLUMN room_id;
+ALTER TABLE room_status_history
+    CHANGE id_bin id BINARY(16) NOT NULL FIRST,
+    CHANGE room_id_bin room_id BINARY(16) NOT NULL,
+    ADD PRIMARY KEY (id);
+
+ALTER TABLE room_status_segment ADD COLUMN room_id_bin BINARY(16);
+UPDATE room_status_segment SET room_id_bin = UUID_TO_BIN(room_id);
+ALTER TABLE room_status_segment DROP COLUMN room_id;
+ALTER TABLE room_status_segment CHANGE room_id_bin room_id BINARY(16) NOT NULL;
+
+ALTER TABLE room_status_history
+    ADD INDEX idx_rsh_room_date (room_id, date, changed_at, id),
+    ADD INDEX idx_rsh_room_changed (room_id, changed_at, id),
+    ADD INDEX idx_rsh_date_changed (date, changed_at, id),
+    ADD CONSTRAINT fk_rsh_room FOREIGN KEY (room_id) REFERENCES room (room_id);
+ALTER TABLE room_status_segment ADD INDEX idx_segment_room_from (room_id, from_date);
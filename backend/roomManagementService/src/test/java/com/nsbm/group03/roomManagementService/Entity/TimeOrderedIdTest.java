@@ -0,0 +1,50 @@
+package com.nsbm.group03.roomManagementService.Entity;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TimeOrderedIdTest {
+
+    @Test
+    void testNext_IsVersion7AndCarriesTheTime() {
+        long before = System.currentTimeMillis();
+        UUID id = UUID.fromString(TimeOrderedId.next());
+
+        assertEquals(7, id.version());
+        assertEquals(2, id.variant());
+        long millis = id.getMostSignificantBits() >>> 16;
+        assertTrue(millis >= before && millis <= System.currentTimeMillis() + 1);
+    }
+
+    @Test
+    void testNext_IncreasesWithinAndAcrossMilliseconds() {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            ids.add(TimeOrderedId.next());
+        }
+
+        for (int i = 1; i < ids.size(); i++) {
+            assertTrue(ids.get(i).compareTo(ids.get(i - 1)) > 0, "id " + i + " is not greater than the previous one");
+            assertTrue(Arrays.compareUnsigned(TimeOrderedId.toBytes(ids.get(i)), TimeOrderedId.toBytes(ids.get(i - 1))) > 0);
+        }
+        assertEquals(ids.size(), new HashSet<>(ids).size());
+    }
+
+    @Test
+    void testBytes_RoundTripRandomIds() {
+        for (int i = 0; i < 100; i++) {
+            String id = UUID.randomUUID().toString();
+            byte[] bytes = TimeOrderedId.toBytes(id);
+
+            assertEquals(16, bytes.length);
+            assertEquals(id, TimeOrderedId.fromBytes(bytes));
+        }
+    }
+}
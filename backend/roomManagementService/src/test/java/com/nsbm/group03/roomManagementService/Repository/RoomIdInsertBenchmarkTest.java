@@ -0,0 +1,77 @@
+package com.nsbm.group03.roomManagementService.Repository;
+
+import com.nsbm.group03.roomManagementService.Entity.TimeOrderedId;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.SingleConnectionDataSource;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+/**
+ * Insert throughput and storage of room status history keyed by random UUID text (VARCHAR(36), the old
+ * mapping) against time-ordered ids in BINARY(16), with the same secondary index. Runs on a file backed
+ * H2 database in MySQL mode under target/ so that the on-disk size can be compared.
+ * Opt-in: mvn test -Dtest=RoomIdInsertBenchmarkTest -Droom.benchmark=true [-Droom.benchmark.id-rows=1000000]
+ */
+@EnabledIfSystemProperty(named = "room.benchmark", matches = "true")
+class RoomIdInsertBenchmarkTest {
+
+    private static final int BATCH_SIZE = 500;
+
+    @Test
+    void benchmarkRandomTextIdsAgainstTimeOrderedBinaryIds() {
+        int rows = Integer.getInteger("room.benchmark.id-rows", 500000);
+
+        run("random VARCHAR(36)", "varchar(36)", rows, () -> UUID.randomUUID().toString());
+        run("time-ordered BINARY(16)", "binary(16)", rows, () -> TimeOrderedId.toBytes(TimeOrderedId.next()));
+    }
+
+    private void run(String label, String idType, int rows, Supplier<Object> ids) {
+        SingleConnectionDataSource dataSource = new SingleConnectionDataSource(
+                "jdbc:h2:file:./target/benchmark/room-ids;MODE=MySQL;DATABASE_TO_LOWER=TRUE", "sa", "", true);
+        try {
+            run(new JdbcTemplate(dataSource), label, idType, rows, ids);
+        } finally {
+            dataSource.destroy();
+        }
+    }
+
+    private void run(JdbcTemplate jdbcTemplate, String label, String idType, int rows, Supplier<Object> ids) {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS bench_history");
+        jdbcTemplate.execute("CREATE TABLE bench_history (id " + idType + " PRIMARY KEY, room_id " + idType
+                + " NOT NULL, date DATE NOT NULL, status VARCHAR(20) NOT NULL, changed_at TIMESTAMP NOT NULL)");
+        jdbcTemplate.execute("CREATE INDEX bench_room_date ON bench_history (room_id, date, changed_at, id)");
+
+        List<Object> roomIds = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            roomIds.add(ids.get());
+        }
+        LocalDate today = LocalDate.now();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        long started = System.nanoTime();
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < rows; i++) {
+            batch.add(new Object[] { ids.get(), roomIds.get(i % roomIds.size()),
+                    Date.valueOf(today.plusDays(i / roomIds.size())), "AVAILABLE", now });
+            if (batch.size() == BATCH_SIZE || i == rows - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO bench_history VALUES (?, ?, ?, ?, ?)", batch);
+                batch.clear();
+            }
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+
+        Long bytes = jdbcTemplate.queryForObject("SELECT DISK_SPACE_USED('bench_history')", Long.class);
+        System.out.printf("[Benchmark] %-24s %,d rows in %.2f s (%,.0f rows/s), table and indexes %,d KB%n",
+                label, rows, seconds, rows / seconds, bytes / 1024);
+        jdbcTemplate.execute("DROP TABLE bench_history");
+    }
+}
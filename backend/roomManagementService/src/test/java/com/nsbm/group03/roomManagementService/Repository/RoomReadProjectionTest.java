@@ -0,0 +1,133 @@
+package com.nsbm.group03.roomManagementService.Repository;
+
+import com.nsbm.group03.roomManagementService.Dto.RoomAvailabilityDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusHistoryDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusSnapshotDTO;
+import com.nsbm.group03.roomManagementService.Dto.RoomSummaryProjection;
+import com.nsbm.group03.roomManagementService.Entity.Room;
+import com.nsbm.group03.roomManagementService.Entity.RoomStatusHistory;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The list queries behind the read endpoints select straight into DTOs and projections: each runs as a
+ * single statement and leaves no Room or RoomStatusHistory entity in the persistence context.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+class RoomReadProjectionTest {
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomStatusHistoryRepository historyRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private LocalDate today;
+    private LocalDateTime now;
+    private Room first;
+
+    @BeforeEach
+    void setUp() {
+        today = LocalDate.now();
+        now = LocalDateTime.now();
+        RoomStatus[] statuses = RoomStatus.values();
+        for (int i = 0; i < 6; i++) {
+            Room room = roomRepository.save(new Room(null, "P-" + i, RoomType.DOUBLE, 8000.0 + i, 2, RoomStatus.AVAILABLE));
+            for (int day = 0; day < 3; day++) {
+                historyRepository.save(new RoomStatusHistory(null, room, today.plusDays(day),
+                        statuses[(i + day) % statuses.length], "SYSTEM", now.plusSeconds(day)));
+            }
+            if (i == 0) first = room;
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testRoomReads_SelectDtosOnly() {
+        List<RoomDTO> rooms = assertSingleStatementNoEntities(() -> roomRepository.findAllRoomDTOs());
+        assertEquals(6, rooms.size());
+
+        RoomDTO room = assertSingleStatementNoEntities(() -> roomRepository.findRoomDTOByRoomNumber("P-3"));
+        assertEquals(RoomType.DOUBLE, room.getRoomType());
+        assertEquals(8003.0, room.getPricePerNight());
+        assertNull(roomRepository.findRoomDTOByRoomNumber("missing"));
+
+        assertEquals(first.getRoomId(),
+                assertSingleStatementNoEntities(() -> roomRepository.findRoomIdByRoomNumber("P-0")));
+
+        List<RoomSummaryProjection> summaries = assertSingleStatementNoEntities(() -> roomRepository.findAllSummaries());
+        assertTrue(summaries.stream().anyMatch(s -> s.getRoomId().equals(first.getRoomId()) && s.getCapacity() == 2));
+    }
+
+    @Test
+    void testHistoryReads_SelectDtosOnly() {
+        List<RoomStatusHistoryDTO> history = assertSingleStatementNoEntities(
+                () -> historyRepository.findHistoryForRoom(first.getRoomId()));
+        assertEquals(3, history.size());
+        assertEquals("P-0", history.get(0).getRoomNumber());
+        assertEquals(today.plusDays(2), history.get(0).getDate());
+
+        assertEquals(6, assertSingleStatementNoEntities(() -> historyRepository.findHistoryForDate(today)).size());
+        assertEquals(2, assertSingleStatementNoEntities(
+                () -> historyRepository.findHistoryForRoomBetween(first.getRoomId(), today, today.plusDays(1))).size());
+        assertEquals(2, assertSingleStatementNoEntities(
+                () -> historyRepository.findStatusSnapshotsByDate(RoomStatus.OCCUPIED, today)).size());
+
+        List<RoomAvailabilityDTO> available = assertSingleStatementNoEntities(
+                () -> historyRepository.findAvailableRoomSummariesByDate(today));
+        assertEquals(2, available.size());
+    }
+
+    @Test
+    void testDateReads_UseLatestRowPerRoom() {
+        // P-0 changes later that day, P-1 changes at the same instant (the greater id wins),
+        // and P-3 has an older row that its latest one supersedes
+        historyRepository.save(new RoomStatusHistory(null, roomRepository.findByRoomNumber("P-0"), today,
+                RoomStatus.OCCUPIED, "desk", now.plusSeconds(10)));
+        historyRepository.save(new RoomStatusHistory(null, roomRepository.findByRoomNumber("P-1"), today,
+                RoomStatus.AVAILABLE, "desk", now));
+        historyRepository.save(new RoomStatusHistory(null, roomRepository.findByRoomNumber("P-3"), today,
+                RoomStatus.OCCUPIED, "desk", now.minusSeconds(10)));
+        entityManager.flush();
+
+        assertEquals(List.of("P-0", "P-4"), assertSingleStatementNoEntities(
+                () -> historyRepository.findStatusSnapshotsByDate(RoomStatus.OCCUPIED, today)).stream()
+                .map(RoomStatusSnapshotDTO::getRoomNumber).toList());
+        assertEquals(List.of("P-1", "P-3"), assertSingleStatementNoEntities(
+                () -> historyRepository.findAvailableRoomSummariesByDate(today)).stream()
+                .map(RoomAvailabilityDTO::getRoomNumber).toList());
+    }
+
+    private <T> T assertSingleStatementNoEntities(Supplier<T> query) {
+        entityManager.clear();
+        CapturingStatementInspector.clear();
+        T result = query.get();
+        assertEquals(1, CapturingStatementInspector.statements().size(),
+                () -> "expected one statement: " + CapturingStatementInspector.statements());
+        assertEquals(0, entityManager.unwrap(Session.class).getStatistics().getEntityCount(),
+                "query hydrated entities into the persistence context");
+        return result;
+    }
+}
@@ -0,0 +1,224 @@
+package com.nsbm.group03.roomManagementService.Repository;
+
+import com.nsbm.group03.roomManagementService.Entity.Room;
+import com.nsbm.group03.roomManagementService.Entity.RoomStatusHistory;
+import com.nsbm.group03.roomManagementService.Entity.TimeOrderedId;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs every RoomStatusHistoryRepository query, EXPLAINs the SQL Hibernate generated on H2 (MySQL mode)
+ * and asserts that room_status_history is searched through an index on the expected columns, not scanned.
+ * The check is on the seek columns rather than the index name: H2 adds its own index for the room_id
+ * foreign key and may pick it for room_id-only lookups, where MySQL reuses idx_rsh_room_date.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RoomStatusHistoryIndexTest {
+
+    // the comment H2 writes after a table in a plan names the index and the conditions it seeks with,
+    // e.g. /* public.idx_rsh_room_date: room_id = ?1 AND date >= ?2 */ ; a full scan shows no conditions
+    private static final Pattern HISTORY_ACCESS =
+            Pattern.compile("\"room_status_history\" \"?\\w*\"?\\s*/\\* public\\.([\\w.]+):?([^*]*)\\*/");
+
+    private static final Pattern SEEK_CONDITION = Pattern.compile("(\\w+) (?:=|>=|<=|>|<|IN)");
+
+    @Autowired
+    private RoomStatusHistoryRepository repository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Room room;
+    private LocalDate today;
+    private LocalDateTime now;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        today = LocalDate.now();
+        now = LocalDateTime.now();
+        room = roomRepository.findByRoomNumber("101");
+        if (room != null) {
+            return;
+        }
+        // seeded once and committed: ANALYZE below is not transactional
+        RoomStatus[] statuses = RoomStatus.values();
+        for (int number = 0; number < 20; number++) {
+            Room saved = roomRepository.save(
+                    new Room(null, String.valueOf(101 + number), RoomType.SINGLE, 5000.0, 1, RoomStatus.AVAILABLE));
+            for (int day = 0; day < 30; day++) {
+                repository.save(new RoomStatusHistory(null, saved, today.plusDays(day),
+                        statuses[(number + day) % statuses.length], "SYSTEM", now.plusSeconds(day)));
+            }
+            if (number == 0) room = saved;
+        }
+        repository.flush();
+        // give the H2 planner real selectivity figures instead of defaults
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    // ========== room access paths ==========
+
+    @Test
+    void testFindByRoomOrderByDateDesc_SeeksByRoom() {
+        assertHistoryIndex(() -> repository.findByRoomOrderByDateDesc(room), "room_id");
+    }
+
+    @Test
+    void testFindByRoomAndDate_SeeksByRoomAndDate() {
+        assertHistoryIndex(() -> repository.findByRoomAndDate(room, today), "room_id", "date");
+    }
+
+    @Test
+    void testFindByRoomAndDateBetween_SeeksByRoomAndDate() {
+        assertHistoryIndex(() -> repository.findByRoomAndDateBetweenOrderByDateDesc(room, today, today.plusDays(7)),
+                "room_id", "date");
+    }
+
+    @Test
+    void testFindByRoomAndStatus_SeeksByRoom() {
+        assertHistoryIndex(() -> repository.findByRoomAndStatus(room, RoomStatus.AVAILABLE), "room_id");
+    }
+
+    @Test
+    void testFindLatestStatusByRoom_SeeksByRoom() {
+        assertHistoryIndex(() -> repository.findLatestStatusByRoom(room), "room_id");
+    }
+
+    @Test
+    void testFindRoomDatesBetweenForRooms_SeeksByRoomAndDate() {
+        assertHistoryIndex(() -> repository.findRoomDatesBetweenForRooms(List.of(room.getRoomId()), today, today.plusDays(29)),
+                "room_id", "date");
+    }
+
+    @Test
+    void testFindRoomCellsBefore_SeeksByRoomAndDate() {
+        assertHistoryIndex(() -> repository.findRoomCellsBefore(room.getRoomId(), today), "room_id", "date");
+    }
+
+    @Test
+    void testHistoryPagesForRoom_SeekByRoom() {
+        assertHistoryIndex(() -> repository.findHistoryPageForRoom(room.getRoomId(), Limit.of(10)), "room_id");
+        assertHistoryIndex(() -> repository.findHistoryPageForRoomAfter(room.getRoomId(), today, now, TimeOrderedId.next(), Limit.of(10)),
+                "room_id");
+        assertHistoryIndex(() -> new TransactionTemplate(transactionManager).execute(status -> {
+            try (Stream<?> rows = repository.streamHistoryForRoom(room.getRoomId())) {
+                return rows.count();
+            }
+        }), "room_id");
+    }
+
+    @Test
+    void testHistoryDtoReadsForRoom_SeekByRoom() {
+        assertHistoryIndex(() -> repository.findHistoryForRoom(room.getRoomId()), "room_id");
+        assertHistoryIndex(() -> repository.findHistoryForRoomOnDate(room.getRoomId(), today), "room_id", "date");
+        assertHistoryIndex(() -> repository.findHistoryForRoomBetween(room.getRoomId(), today, today.plusDays(7)),
+                "room_id", "date");
+    }
+
+    // ========== date access paths ==========
+
+    @Test
+    void testStatusByDateQueries_SeekByDateAndStatus() {
+        assertHistoryIndex(() -> repository.findAvailableRoomsByDate(today), "date", "status");
+        assertHistoryIndex(() -> repository.findOccupiedRoomsByDate(today), "date", "status");
+        assertHistoryIndex(() -> repository.findMaintenanceRoomsByDate(today), "date", "status");
+        assertHistoryIndex(() -> repository.findByStatusAndDateOrderByChangedAtDesc(RoomStatus.OCCUPIED, today),
+                "date", "status");
+        assertHistoryIndex(() -> repository.findStatusSnapshotsByDate(RoomStatus.OCCUPIED, today), "date", "status");
+        assertHistoryIndex(() -> repository.findAvailableRoomSummariesByDate(today), "date", "status");
+    }
+
+    @Test
+    void testCountByStatusForDate_SeeksByDate() {
+        assertHistoryIndex(() -> repository.countByStatusForDate(today), "date");
+    }
+
+    @Test
+    void testFindByDateOrderByChangedAtDesc_SeeksByDate() {
+        assertHistoryIndex(() -> repository.findByDateOrderByChangedAtDesc(today), "date");
+        assertHistoryIndex(() -> repository.findHistoryForDate(today), "date");
+    }
+
+    @Test
+    void testDateRangeScans_SeekByDate() {
+        assertHistoryIndex(() -> repository.findStatusCellsBetween(today, today.plusDays(7)), "date");
+        assertHistoryIndex(() -> repository.findRoomDatesBetween(today, today.plusDays(7)), "date");
+        assertHistoryIndex(() -> repository.findRoomIdsWithoutHistoryOn(today.plusDays(20)), "room_id", "date");
+    }
+
+    @Test
+    void testHistoryPagesForDate_SeekByDate() {
+        assertHistoryIndex(() -> repository.findHistoryPageForDate(today, Limit.of(10)), "date");
+        assertHistoryIndex(() -> repository.findHistoryPageForDateAfter(today, now, TimeOrderedId.next(), Limit.of(10)), "date");
+        assertHistoryIndex(() -> new TransactionTemplate(transactionManager).execute(status -> {
+            try (Stream<?> rows = repository.streamHistoryForDate(today)) {
+                return rows.count();
+            }
+        }), "date");
+    }
+
+    // ========== status access paths ==========
+
+    @Test
+    void testStatusOnlyQueries_SeekByStatus() {
+        assertHistoryIndex(() -> repository.findByStatusOrderByDateDesc(RoomStatus.MAINTENANCE), "status");
+        assertHistoryIndex(() -> repository.findByStatusOrderByChangedAtDesc(RoomStatus.MAINTENANCE), "status");
+    }
+
+    // ========== helpers ==========
+
+    private void assertHistoryIndex(java.util.function.Supplier<?> query, String... expectedColumns) {
+        CapturingStatementInspector.clear();
+        query.get();
+        String sql = CapturingStatementInspector.statements().stream()
+                .filter(statement -> statement.contains("room_status_history"))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("No room_status_history statement was executed"));
+
+        String plan = jdbcTemplate.queryForObject("EXPLAIN " + sql, String.class);
+        Matcher access = HISTORY_ACCESS.matcher(plan);
+        assertTrue(access.find(), () -> "No access path for room_status_history in plan:\n" + plan);
+
+        Set<String> seekColumns = new HashSet<>();
+        Matcher condition = SEEK_CONDITION.matcher(access.group(2));
+        while (condition.find()) {
+            seekColumns.add(condition.group(1));
+        }
+        for (String column : expectedColumns) {
+            assertTrue(seekColumns.contains(column), () -> "room_status_history is not searched by " + column
+                    + " (index " + access.group(1) + " seeks " + seekColumns + "):\n" + plan);
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package com.nsbm.group03.roomManagementService.Repository;
+
+import com.nsbm.group03.roomManagementService.Entity.Room;
+import com.nsbm.group03.roomManagementService.Entity.TimeOrderedId;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Latency of the hot RoomStatusHistoryRepository queries over a scaled dataset
+ * (room.benchmark.rooms x room.benchmark.days, default 10000 x 365) on H2 in MySQL mode.
+ * Opt-in, as seeding takes minutes: mvn test -Dtest=RoomStatusHistoryQueryBenchmarkTest -Droom.benchmark=true
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIfSystemProperty(named = "room.benchmark", matches = "true")
+class RoomStatusHistoryQueryBenchmarkTest {
+
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 25;
+    private static final int BATCH_SIZE = 5000;
+
+    @Autowired
+    private RoomStatusHistoryRepository repository;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void benchmarkHistoryQueries() {
+        int rooms = Integer.getInteger("room.benchmark.rooms", 10000);
+        int days = Integer.getInteger("room.benchmark.days", 365);
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+
+        seed(rooms, days, today, now);
+        Room room = roomRepository.findByRoomNumber(roomNumber(rooms / 2));
+        assertNotNull(room);
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("findByRoomAndDate", () -> repository.findByRoomAndDate(room, today));
+        queries.put("findByRoomAndDateBetweenOrderByDateDesc",
+                () -> repository.findByRoomAndDateBetweenOrderByDateDesc(room, today, today.plusDays(30)));
+        queries.put("findLatestStatusByRoom", () -> repository.findLatestStatusByRoom(room));
+        queries.put("findHistoryPageForRoom", () -> repository.findHistoryPageForRoom(room.getRoomId(), Limit.of(100)));
+        queries.put("findAvailableRoomsByDate", () -> repository.findAvailableRoomsByDate(today));
+        queries.put("findByStatusAndDateOrderByChangedAtDesc",
+                () -> repository.findByStatusAndDateOrderByChangedAtDesc(RoomStatus.OCCUPIED, today));
+        queries.put("countByStatusForDate", () -> repository.countByStatusForDate(today));
+        queries.put("findHistoryPageForDate", () -> repository.findHistoryPageForDate(today, Limit.of(100)));
+        queries.put("findHistoryPageForDateAfter",
+                () -> repository.findHistoryPageForDateAfter(today, now, TimeOrderedId.next(), Limit.of(100)));
+        queries.put("findStatusCellsBetween (7 days)",
+                () -> repository.findStatusCellsBetween(today, today.plusDays(6)));
+
+        System.out.println("[Benchmark] " + rooms + " rooms x " + days + " days, median of " + MEASURED_RUNS + " runs");
+        for (Map.Entry<String, Runnable> query : queries.entrySet()) {
+            System.out.printf("[Benchmark] %-42s %8.2f ms%n", query.getKey(), medianMillis(query.getValue()));
+        }
+    }
+
+    private void seed(int rooms, int days, LocalDate today, LocalDateTime now) {
+        if (roomRepository.findByRoomNumber(roomNumber(0)) != null) {
+            return;
+        }
+        long started = System.currentTimeMillis();
+        RoomStatus[] statuses = RoomStatus.values();
+        List<Object[]> roomRows = new ArrayList<>(rooms);
+        List<Object[]> historyRows = new ArrayList<>(BATCH_SIZE);
+        for (int number = 0; number < rooms; number++) {
+            byte[] roomId = TimeOrderedId.toBytes(TimeOrderedId.next());
+            roomRows.add(new Object[] { roomId, roomNumber(number), "SINGLE", 5000.0, 1, "AVAILABLE" });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO room (room_id, room_number, room_type, price_per_night, capacity, status, version) "
+                + "VALUES (?, ?, ?, ?, ?, ?, 0)", roomRows);
+
+        for (int number = 0; number < rooms; number++) {
+            byte[] roomId = (byte[]) roomRows.get(number)[0];
+            for (int day = 0; day < days; day++) {
+                historyRows.add(new Object[] {
+                        TimeOrderedId.toBytes(TimeOrderedId.next()), roomId, Date.valueOf(today.plusDays(day - days / 2)),
+                        statuses[(number + day) % statuses.length].name(), "SYSTEM", Timestamp.valueOf(now)
+                });
+                if (historyRows.size() == BATCH_SIZE) {
+                    insertHistory(historyRows);
+                }
+            }
+        }
+        insertHistory(historyRows);
+        jdbcTemplate.execute("ANALYZE");
+        System.out.println("[Benchmark] seeded " + rooms + " rooms x " + days + " days in "
+                + (System.currentTimeMillis() - started) + " ms");
+    }
+
+    private void insertHistory(List<Object[]> rows) {
+        jdbcTemplate.batchUpdate("INSERT INTO room_status_history (id, room_id, date, status, changed_by, changed_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", rows);
+        rows.clear();
+    }
+
+    private static double medianMillis(Runnable query) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            query.run();
+        }
+        long[] nanos = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long started = System.nanoTime();
+            query.run();
+            nanos[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(nanos);
+        return nanos[MEASURED_RUNS / 2] / 1_000_000.0;
+    }
+
+    private static String roomNumber(int number) {
+        return String.format("B%05d", number);
+    }
+}
@@ -0,0 +1,118 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import com.nsbm.group03.roomManagementService.Entity.Room;
+import com.nsbm.group03.roomManagementService.Entity.RoomCurrentStatus;
+import com.nsbm.group03.roomManagementService.Entity.RoomStatusHistory;
+import com.nsbm.group03.roomManagementService.Entity.TimeOrderedId;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+import com.nsbm.group03.roomManagementService.Repository.RoomCurrentStatusRepository;
+import com.nsbm.group03.roomManagementService.Repository.RoomRepository;
+import com.nsbm.group03.roomManagementService.Repository.RoomStatusHistoryRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CurrentStatusRepairJob rewrites only the projection rows that disagree with history and leaves the rest,
+ * including a row written after the history it read.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@Import(CurrentStatusRepairJob.class)
+class CurrentStatusRepairJobTest {
+
+    @Autowired
+    private CurrentStatusRepairJob repairJob;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomStatusHistoryRepository historyRepository;
+
+    @Autowired
+    private RoomCurrentStatusRepository currentStatusRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    private LocalDate today;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        today = LocalDate.now();
+        now = LocalDateTime.now().withNano(0);
+    }
+
+    @Test
+    void testRebuild_RepairsOnlyRowsThatDiffer() {
+        Room inStep = room("R-1");
+        RoomStatusHistory inStepLatest = history(inStep, RoomStatus.OCCUPIED, 1);
+        project(inStepLatest);
+
+        Room stale = room("R-2");
+        RoomStatusHistory staleOld = history(stale, RoomStatus.OCCUPIED, 1);
+        RoomStatusHistory staleLatest = history(stale, RoomStatus.MAINTENANCE, 2);
+        project(staleOld);
+
+        Room missing = room("R-3");
+        RoomStatusHistory missingLatest = history(missing, RoomStatus.OCCUPIED, 1);
+
+        Room orphan = room("R-4");
+        currentStatusRepository.saveAndFlush(new RoomCurrentStatus(orphan.getRoomId(), TimeOrderedId.next(), today,
+                RoomStatus.OCCUPIED, "test", now));
+
+        assertEquals(3, repairJob.rebuild());
+        entityManager.clear();
+
+        assertEquals(inStepLatest.getId(), currentStatusRepository.findById(inStep.getRoomId()).orElseThrow().getHistoryId());
+        RoomCurrentStatus repaired = currentStatusRepository.findById(stale.getRoomId()).orElseThrow();
+        assertEquals(staleLatest.getId(), repaired.getHistoryId());
+        assertEquals(RoomStatus.MAINTENANCE, repaired.getStatus());
+        assertEquals(missingLatest.getId(), currentStatusRepository.findById(missing.getRoomId()).orElseThrow().getHistoryId());
+        assertTrue(currentStatusRepository.findById(orphan.getRoomId()).isEmpty());
+
+        assertEquals(0, repairJob.rebuild(), "a second pass finds nothing to repair");
+    }
+
+    @Test
+    void testRebuild_KeepsNewerProjectionRow() {
+        Room room = room("R-5");
+        history(room, RoomStatus.OCCUPIED, 1);
+        // written by a status change that committed after the repair read history
+        RoomCurrentStatus newer = new RoomCurrentStatus(room.getRoomId(), TimeOrderedId.next(), today,
+                RoomStatus.AVAILABLE, "desk", now.plusSeconds(5));
+        currentStatusRepository.saveAndFlush(newer);
+
+        assertEquals(0, repairJob.rebuild());
+        entityManager.clear();
+
+        assertEquals(newer.getHistoryId(), currentStatusRepository.findById(room.getRoomId()).orElseThrow().getHistoryId());
+    }
+
+    private Room room(String number) {
+        return roomRepository.saveAndFlush(new Room(null, number, RoomType.SINGLE, 5000.0, 1, RoomStatus.AVAILABLE));
+    }
+
+    private RoomStatusHistory history(Room room, RoomStatus status, int seconds) {
+        return historyRepository.saveAndFlush(new RoomStatusHistory(null, room, today, status, "test", now.plusSeconds(seconds)));
+    }
+
+    private void project(RoomStatusHistory history) {
+        currentStatusRepository.saveAndFlush(new RoomCurrentStatus(history.getRoom().getRoomId(), history.getId(),
+                history.getDate(), history.getStatus(), history.getChangedBy(), history.getChangedAt()));
+    }
+}
@@ -0,0 +1,117 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import com.nsbm.group03.roomManagementService.Dto.HistoryGenerationResult;
+import com.nsbm.group03.roomManagementService.Entity.Room;
+import com.nsbm.group03.roomManagementService.Entity.RoomStatusHistory;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+import com.nsbm.group03.roomManagementService.Repository.RoomRepository;
+import com.nsbm.group03.roomManagementService.Repository.RoomStatusHistoryRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The nightly refresh fills every missing (room, day) pair in the days it rechecks, whatever other rows
+ * the room has: a manually written row beyond the horizon or later in the window must not hide a gap.
+ * An instance that loses the lease re-anchors its calendar only once the leader has written the new day.
+ * Runs on its own in-memory database.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles({"h2", "no-seed"})
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:hms_refresh;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "room.history.refresh.days-ahead=30",
+        "room.history.refresh.recheck-days=7"
+})
+class HistoryRefreshJobTest {
+
+    @Autowired
+    private HistoryRefreshJob refreshJob;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomStatusHistoryRepository historyRepository;
+
+    @Autowired
+    private RoomAvailabilityCalendar calendar;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testRefresh_FillsGapsHiddenByLaterRows() {
+        LocalDate today = LocalDate.now();
+        LocalDate lastDate = today.plusDays(29);
+
+        // history up to yesterday's horizon, plus a manual booking far beyond it
+        Room beyond = room("H-1");
+        history(beyond, today, lastDate.minusDays(1));
+        history(beyond, lastDate.plusDays(40), lastDate.plusDays(40));
+
+        // a gap inside the rechecked days, then history up to the new horizon
+        Room gap = room("H-2");
+        history(gap, today, lastDate.minusDays(4));
+        history(gap, lastDate.minusDays(2), lastDate);
+
+        Room complete = room("H-3");
+        history(complete, today, lastDate);
+
+        HistoryGenerationResult result = refreshJob.refresh();
+
+        assertEquals(2, result.getRooms());
+        assertEquals(2, result.getRowsGenerated());
+        for (LocalDate date = lastDate.minusDays(6); !date.isAfter(lastDate); date = date.plusDays(1)) {
+            assertTrue(historyRepository.findRoomIdsWithoutHistoryOn(date).isEmpty(), "no room is missing " + date);
+        }
+
+        assertEquals(0, refreshJob.refresh().getRowsGenerated(), "a second run finds nothing missing");
+    }
+
+    @Test
+    void testScheduledRefresh_FollowerWaitsForLeadersHorizonDay() {
+        LocalDate today = LocalDate.now();
+        LocalDate lastDate = today.plusDays(29);
+        Room room = room("F-1");
+        history(room, today, lastDate.minusDays(1));
+        calendar.rebuild();
+        jdbcTemplate.update("INSERT INTO scheduler_lease (name, owner, leased_until) VALUES (?, ?, ?)",
+                HistoryRefreshJob.LEASE_NAME, "leader", Timestamp.valueOf(LocalDateTime.now().plusHours(1)));
+        try {
+            refreshJob.scheduledRefresh();
+            refreshJob.followLeader();
+            assertNull(calendar.statusOf(room.getRoomId(), lastDate));
+
+            // the leader writes the new horizon day; the follower only indexes it once it is there
+            history(room, lastDate, lastDate);
+            assertNull(calendar.statusOf(room.getRoomId(), lastDate), "writes of another instance are not applied");
+            refreshJob.followLeader();
+            assertEquals(RoomStatus.AVAILABLE, calendar.statusOf(room.getRoomId(), lastDate));
+        } finally {
+            jdbcTemplate.update("DELETE FROM scheduler_lease WHERE name = ?", HistoryRefreshJob.LEASE_NAME);
+        }
+    }
+
+    private Room room(String number) {
+        return roomRepository.save(new Room(null, number, RoomType.SINGLE, 5000.0, 1, RoomStatus.AVAILABLE));
+    }
+
+    private void history(Room room, LocalDate from, LocalDate to) {
+        LocalDateTime now = LocalDateTime.now();
+        for (LocalDate date = from; !date.isAfter(to); date = date.plusDays(1)) {
+            historyRepository.save(new RoomStatusHistory(null, room, date, RoomStatus.AVAILABLE, "test", now));
+        }
+    }
+}
@@ -0,0 +1,173 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusCellProjection;
+import com.nsbm.group03.roomManagementService.Entity.Room;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+import com.nsbm.group03.roomManagementService.Repository.RoomRepository;
+import com.nsbm.group03.roomManagementService.Repository.RoomStatusHistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionSynchronizationUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class RoomAvailabilityCalendarTest {
+
+    @Mock
+    private RoomRepository roomRepository;
+
+    @Mock
+    private RoomStatusHistoryRepository statusHistoryRepository;
+
+    private RoomAvailabilityCalendar calendar;
+    private Room room101;
+    private Room room201;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        calendar = new RoomAvailabilityCalendar(roomRepository, statusHistoryRepository, 30, 90);
+        room101 = new Room("id-101", "101", RoomType.SINGLE, 5000.0, 1, RoomStatus.AVAILABLE);
+        room201 = new Room("id-201", "201", RoomType.DOUBLE, 8000.0, 2, RoomStatus.AVAILABLE);
+        today = LocalDate.now();
+    }
+
+    private RoomStatusCellProjection cell(String roomId, LocalDate date, RoomStatus status) {
+        return new RoomStatusCellProjection() {
+            public String getRoomId() { return roomId; }
+            public LocalDate getDate() { return date; }
+            public RoomStatus getStatus() { return status; }
+        };
+    }
+
+    @Test
+    void testRebuild_LaterCellsWin() {
+        when(roomRepository.findAll()).thenReturn(List.of(room101, room201));
+        when(statusHistoryRepository.findStatusCellsBetween(any(), any())).thenReturn(List.of(
+            cell("id-101", today, RoomStatus.AVAILABLE),
+            cell("id-201", today, RoomStatus.OCCUPIED),
+            cell("id-101", today, RoomStatus.MAINTENANCE)
+        ));
+
+        calendar.rebuild();
+
+        assertEquals(RoomStatus.MAINTENANCE, calendar.statusOf("id-101", today));
+        assertEquals(RoomStatus.OCCUPIED, calendar.statusOf("id-201", today));
+        assertTrue(calendar.findRooms(today, RoomStatus.AVAILABLE).isEmpty());
+        assertEquals("101", calendar.findRooms(today, RoomStatus.MAINTENANCE).get(0).getRoomNumber());
+    }
+
+    @Test
+    void testRecord_UpdatesOnlyThatDay() {
+        when(roomRepository.findAll()).thenReturn(List.of(room101));
+        when(statusHistoryRepository.findStatusCellsBetween(any(), any())).thenReturn(List.of());
+        calendar.rebuild();
+
+        // cells on both sides of a word boundary
+        for (int i = 0; i < 40; i++) {
+            calendar.record("id-101", today.plusDays(i), RoomStatus.AVAILABLE);
+        }
+        calendar.record("id-101", today.plusDays(1), RoomStatus.OCCUPIED);
+
+        assertEquals(RoomStatus.AVAILABLE, calendar.statusOf("id-101", today));
+        assertEquals(RoomStatus.OCCUPIED, calendar.statusOf("id-101", today.plusDays(1)));
+        assertEquals(RoomStatus.AVAILABLE, calendar.statusOf("id-101", today.plusDays(2)));
+        assertEquals(RoomStatus.AVAILABLE, calendar.statusOf("id-101", today.plusDays(39)));
+        assertNull(calendar.statusOf("id-101", today.plusDays(40)));
+    }
+
+    @Test
+    void testRecord_AppliedOnlyAfterCommit() {
+        when(roomRepository.findAll()).thenReturn(List.of(room101));
+        when(statusHistoryRepository.findStatusCellsBetween(any(), any())).thenReturn(List.of(
+            cell("id-101", today, RoomStatus.AVAILABLE)
+        ));
+        calendar.rebuild();
+
+        // a write that rolls back leaves the calendar as it was
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            calendar.record("id-101", today, RoomStatus.OCCUPIED);
+            assertEquals(RoomStatus.AVAILABLE, calendar.statusOf("id-101", today));
+            TransactionSynchronizationUtils.triggerAfterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(RoomStatus.AVAILABLE, calendar.statusOf("id-101", today));
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            calendar.record("id-101", today, RoomStatus.OCCUPIED);
+            TransactionSynchronizationUtils.triggerAfterCommit();
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(RoomStatus.OCCUPIED, calendar.statusOf("id-101", today));
+    }
+
+    @Test
+    void testCovers_OutsideWindow() {
+        assertFalse(calendar.covers(today));
+
+        when(roomRepository.findAll()).thenReturn(List.of());
+        when(statusHistoryRepository.findStatusCellsBetween(any(), any())).thenReturn(List.of());
+        calendar.rebuild();
+
+        assertTrue(calendar.covers(today));
+        assertTrue(calendar.covers(today.minusDays(30)));
+        assertFalse(calendar.covers(today.minusDays(31)));
+        assertTrue(calendar.covers(today.plusDays(89)));
+        assertFalse(calendar.covers(today.plusDays(90)));
+    }
+
+    @Test
+    void testRemoveRoom_DropsFromResults() {
+        when(roomRepository.findAll()).thenReturn(List.of(room101, room201));
+        when(statusHistoryRepository.findStatusCellsBetween(any(), any())).thenReturn(List.of(
+            cell("id-101", today, RoomStatus.AVAILABLE),
+            cell("id-201", today, RoomStatus.AVAILABLE)
+        ));
+        calendar.rebuild();
+
+        calendar.removeRoom("id-101");
+
+        List<RoomAvailabilityCalendar.CalendarRoom> available = calendar.findRooms(today, RoomStatus.AVAILABLE);
+        assertEquals(1, available.size());
+        assertEquals("201", available.get(0).getRoomNumber());
+    }
+
+    @Test
+    void testFindRoomsForEveryNight_AcrossWordBoundary() {
+        when(roomRepository.findAll()).thenReturn(List.of(room101, room201));
+        when(statusHistoryRepository.findStatusCellsBetween(any(), any())).thenReturn(List.of());
+        calendar.rebuild();
+
+        for (int i = 0; i < 60; i++) {
+            calendar.record("id-101", today.plusDays(i), RoomStatus.AVAILABLE);
+            calendar.record("id-201", today.plusDays(i), RoomStatus.AVAILABLE);
+        }
+        calendar.record("id-201", today.plusDays(40), RoomStatus.OCCUPIED);
+
+        List<RoomAvailabilityCalendar.CalendarRoom> longStay =
+            calendar.findRoomsForEveryNight(today.plusDays(20), today.plusDays(50), RoomStatus.AVAILABLE);
+        assertEquals(1, longStay.size());
+        assertEquals("101", longStay.get(0).getRoomNumber());
+
+        // check-out on the occupied night leaves both rooms free
+        assertEquals(2, calendar.findRoomsForEveryNight(today, today.plusDays(40), RoomStatus.AVAILABLE).size());
+        // a night without history is not bookable
+        assertTrue(calendar.findRoomsForEveryNight(today.plusDays(55), today.plusDays(61), RoomStatus.AVAILABLE).isEmpty());
+    }
+}
@@ -0,0 +1,146 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import com.nsbm.group03.roomManagementService.Dto.RoomStatusEventDTO;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RoomEventBroadcasterTest {
+
+    private List<RecordingEmitter> emitters;
+    private RoomEventBroadcaster broadcaster;
+    private LocalDate today;
+
+    @BeforeEach
+    void setUp() {
+        emitters = new ArrayList<>();
+        // replay 4 events, buffer 3 room-days per subscriber, flushed by hand
+        broadcaster = new RoomEventBroadcaster(4, 3, 3_600_000, 60_000, 60_000) {
+            @Override
+            SseEmitter newEmitter(long timeoutMillis) {
+                RecordingEmitter emitter = new RecordingEmitter();
+                emitters.add(emitter);
+                return emitter;
+            }
+        };
+        today = LocalDate.now();
+    }
+
+    @AfterEach
+    void tearDown() {
+        broadcaster.shutdown();
+    }
+
+    @Test
+    void testPublish_DeliversEventsInOrder() {
+        broadcaster.subscribe(null);
+        publish("101", today, RoomStatus.OCCUPIED);
+        publish("102", today, RoomStatus.MAINTENANCE);
+
+        broadcaster.flush();
+
+        List<RoomStatusEventDTO> events = emitters.get(0).events;
+        assertEquals(2, events.size());
+        assertEquals("101", events.get(0).getRoomNumber());
+        assertEquals("102", events.get(1).getRoomNumber());
+        assertTrue(events.get(1).getId() > events.get(0).getId());
+    }
+
+    @Test
+    void testPublish_CoalescesChangesToTheSameRoomDay() {
+        broadcaster.subscribe(null);
+        publish("101", today, RoomStatus.OCCUPIED);
+        publish("101", today, RoomStatus.AVAILABLE);
+        publish("101", today.plusDays(1), RoomStatus.OCCUPIED);
+
+        broadcaster.flush();
+
+        List<RoomStatusEventDTO> events = emitters.get(0).events;
+        assertEquals(2, events.size());
+        assertEquals(today, events.get(0).getDate());
+        assertEquals(RoomStatus.AVAILABLE, events.get(0).getStatus());
+    }
+
+    @Test
+    void testPublish_OverflowSendsOneResync() {
+        broadcaster.subscribe(null);
+        for (int i = 0; i < 5; i++) {
+            publish(String.valueOf(101 + i), today, RoomStatus.OCCUPIED);
+        }
+
+        broadcaster.flush();
+        publish("201", today, RoomStatus.OCCUPIED);
+        broadcaster.flush();
+
+        RecordingEmitter emitter = emitters.get(0);
+        assertEquals(List.of(RoomEventBroadcaster.RESYNC_EVENT, RoomEventBroadcaster.STATUS_EVENT), emitter.names);
+        assertEquals("201", emitter.events.get(0).getRoomNumber());
+    }
+
+    @Test
+    void testSubscribe_ReplaysChangesAfterLastEventId() {
+        broadcaster.subscribe(null);
+        publish("101", today, RoomStatus.OCCUPIED);
+        publish("102", today, RoomStatus.OCCUPIED);
+        publish("103", today, RoomStatus.OCCUPIED);
+        broadcaster.flush();
+        long firstId = emitters.get(0).events.get(0).getId();
+
+        broadcaster.subscribe(firstId);
+        broadcaster.flush();
+
+        List<RoomStatusEventDTO> replayed = emitters.get(1).events;
+        assertEquals(List.of("102", "103"), replayed.stream().map(RoomStatusEventDTO::getRoomNumber).toList());
+    }
+
+    @Test
+    void testSubscribe_ResyncsWhenLastEventIdIsNoLongerBuffered() {
+        broadcaster.subscribe(null);
+        for (int i = 0; i < 6; i++) {
+            publish("101", today.plusDays(i), RoomStatus.OCCUPIED);
+            broadcaster.flush();
+        }
+        long firstId = emitters.get(0).events.get(0).getId();
+
+        broadcaster.subscribe(firstId);
+        broadcaster.subscribe(1L);
+        broadcaster.flush();
+
+        assertEquals(List.of(RoomEventBroadcaster.RESYNC_EVENT), emitters.get(1).names);
+        assertEquals(List.of(RoomEventBroadcaster.RESYNC_EVENT), emitters.get(2).names);
+    }
+
+    private void publish(String roomNumber, LocalDate date, RoomStatus status) {
+        broadcaster.publish(roomNumber, date, status, LocalDateTime.now());
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<String> names = new ArrayList<>();
+        private final List<RoomStatusEventDTO> events = new ArrayList<>();
+
+        @Override
+        public void send(SseEventBuilder builder) {
+            StringBuilder text = new StringBuilder();
+            for (DataWithMediaType part : builder.build()) {
+                if (part.getData() instanceof RoomStatusEventDTO event) {
+                    events.add(event);
+                } else {
+                    text.append(part.getData());
+                }
+            }
+            int name = text.indexOf("event:");
+            if (name >= 0) {
+                names.add(text.substring(name + 6, text.indexOf("\n", name)));
+            }
+        }
+    }
+}
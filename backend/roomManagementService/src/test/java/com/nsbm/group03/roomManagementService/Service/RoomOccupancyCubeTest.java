@@ -0,0 +1,212 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import com.nsbm.group03.roomManagementService.Entity.Room;
+import com.nsbm.group03.roomManagementService.Entity.RoomStatusSegment;
+import com.nsbm.group03.roomManagementService.Entity.TimeOrderedId;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+import com.nsbm.group03.roomManagementService.Repository.RoomRepository;
+import com.nsbm.group03.roomManagementService.Repository.RoomStatusSegmentRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.boot.jdbc.test.autoconfigure.AutoConfigureTestDatabase;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Writes status history through RoomStatusBatchWriter and checks that RoomOccupancyCube rebuilds the
+ * days a committed write touched, and only those, and that the result is what OccupancyBackfillJob
+ * rebuilds from scratch. Runs without a test transaction, on its own in-memory database, so commits happen.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ActiveProfiles("h2")
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:hms_cube;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@Import({RoomOccupancyCube.class, OccupancyBackfillJob.class, RoomStatusBatchWriter.class,
+        RoomAvailabilityCalendar.class, SchedulerLeaseService.class})
+class RoomOccupancyCubeTest {
+
+    @Autowired
+    private RoomOccupancyCube occupancyCube;
+
+    @Autowired
+    private OccupancyBackfillJob backfillJob;
+
+    @Autowired
+    private RoomStatusBatchWriter batchWriter;
+
+    @Autowired
+    private RoomRepository roomRepository;
+
+    @Autowired
+    private RoomStatusSegmentRepository segmentRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private TransactionTemplate transactionTemplate;
+    private List<Room> rooms;
+    private LocalDate today;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        rooms = roomRepository.saveAllAndFlush(List.of(
+                new Room(null, "101", RoomType.SINGLE, 5000.0, 1, RoomStatus.AVAILABLE),
+                new Room(null, "102", RoomType.SINGLE, 5500.0, 1, RoomStatus.AVAILABLE),
+                new Room(null, "201", RoomType.DOUBLE, 8000.0, 2, RoomStatus.AVAILABLE),
+                new Room(null, "301", RoomType.DELUXE, 12000.0, 2, RoomStatus.AVAILABLE)));
+        today = LocalDate.now();
+        now = LocalDateTime.now();
+
+        // five days of history for every room
+        List<Object[]> rows = new ArrayList<>();
+        RoomStatus[] statuses = RoomStatus.values();
+        for (int day = 0; day < 5; day++) {
+            for (int i = 0; i < rooms.size(); i++) {
+                rows.add(row(rooms.get(i), today.plusDays(day), statuses[(day + i) % statuses.length], 0));
+            }
+        }
+        write(rows);
+        assertEquals(5, occupancyCube.flush());
+    }
+
+    @AfterEach
+    void tearDown() {
+        occupancyCube.flush();
+        for (String table : List.of("room_occupancy_daily", "room_current_status", "room_status_segment",
+                "room_status_history", "room")) {
+            jdbcTemplate.update("DELETE FROM " + table);
+        }
+    }
+
+    @Test
+    void testWrite_CountsEachRoomOncePerDay() {
+        Room single = rooms.get(0);
+        // three changes to the same room-day in one batch, then one more on its own
+        write(List.of(
+                row(single, today, RoomStatus.OCCUPIED, 1),
+                row(single, today, RoomStatus.MAINTENANCE, 2),
+                row(single, today, RoomStatus.OCCUPIED, 3)));
+        write(List.<Object[]>of(row(single, today, RoomStatus.OCCUPIED, 4)));
+
+        assertEquals(1, occupancyCube.flush(), "both writes touched only today");
+        Map<String, String> cube = snapshot();
+        long singlesToday = cube.entrySet().stream()
+                .filter(cell -> cell.getKey().startsWith(today + "|SINGLE|"))
+                .mapToLong(cell -> Long.parseLong(cell.getValue().split("/")[0]))
+                .sum();
+        assertEquals(2, singlesToday);
+        assertEquals("2/10500.0", cube.get(today + "|SINGLE|OCCUPIED"));
+        assertEquals(cube, rebuilt());
+    }
+
+    @Test
+    void testWrite_AppliedOnlyAfterCommit() {
+        Room deluxe = rooms.get(3);
+
+        transactionTemplate.executeWithoutResult(tx -> {
+            batchWriter.write(List.<Object[]>of(row(deluxe, today.plusDays(1), RoomStatus.AVAILABLE, 1)));
+            assertEquals(0, occupancyCube.flush(), "nothing is marked before the commit");
+        });
+        transactionTemplate.executeWithoutResult(tx -> {
+            batchWriter.write(List.<Object[]>of(row(deluxe, today.plusDays(2), RoomStatus.OCCUPIED, 1)));
+            tx.setRollbackOnly();
+        });
+
+        assertEquals(1, occupancyCube.flush(), "only the committed write's day");
+        Map<String, String> cube = snapshot();
+        assertEquals("1/12000.0", cube.get(today.plusDays(1) + "|DELUXE|AVAILABLE"));
+        assertEquals("1/12000.0", cube.get(today.plusDays(2) + "|DELUXE|MAINTENANCE"));
+        assertEquals(cube, rebuilt());
+    }
+
+    @Test
+    void testWrite_ReplacesCompactedStatus() {
+        Room room = rooms.get(2);
+        LocalDate compacted = today.minusDays(100);
+        segmentRepository.saveAndFlush(new RoomStatusSegment(room.getRoomId(), RoomStatus.MAINTENANCE,
+                compacted.minusDays(3), compacted.plusDays(3)));
+        backfillJob.backfill();
+
+        write(List.<Object[]>of(row(room, compacted, RoomStatus.OCCUPIED, 1)));
+        occupancyCube.flush();
+
+        Map<String, String> cube = snapshot();
+        assertEquals("1/8000.0", cube.get(compacted + "|DOUBLE|OCCUPIED"));
+        assertNull(cube.get(compacted + "|DOUBLE|MAINTENANCE"));
+        assertEquals("1/8000.0", cube.get(compacted.plusDays(1) + "|DOUBLE|MAINTENANCE"));
+        assertEquals(cube, rebuilt());
+    }
+
+    @Test
+    void testRemoveRoom_TakesItsDaysOut() {
+        Room room = rooms.get(1);
+        byte[] id = TimeOrderedId.toBytes(room.getRoomId());
+        transactionTemplate.executeWithoutResult(tx -> {
+            occupancyCube.removeRoom(room.getRoomId());
+            jdbcTemplate.update("DELETE FROM room_current_status WHERE room_id = ?", (Object) id);
+            jdbcTemplate.update("DELETE FROM room_status_history WHERE room_id = ?", (Object) id);
+            jdbcTemplate.update("DELETE FROM room WHERE room_id = ?", (Object) id);
+        });
+
+        assertEquals(5, occupancyCube.flush());
+        Map<String, String> cube = snapshot();
+        assertTrue(cube.entrySet().stream()
+                .filter(cell -> cell.getKey().contains("|SINGLE|"))
+                .allMatch(cell -> cell.getValue().equals("1/5000.0")));
+        assertEquals(cube, rebuilt());
+    }
+
+    private void write(List<Object[]> rows) {
+        transactionTemplate.executeWithoutResult(tx -> batchWriter.write(rows));
+    }
+
+    private Object[] row(Room room, LocalDate date, RoomStatus status, int order) {
+        return new Object[] {
+                TimeOrderedId.next(), room.getRoomId(), Date.valueOf(date), status.name(), "test",
+                Timestamp.valueOf(now.plusNanos(order * 1000L))
+        };
+    }
+
+    // date|type|status -> rooms/revenue, leaving out cells that went back to zero
+    private Map<String, String> snapshot() {
+        Map<String, String> cells = new TreeMap<>();
+        jdbcTemplate.query("SELECT date, room_type, status, rooms, revenue FROM room_occupancy_daily", rs -> {
+            if (rs.getLong(4) == 0 && rs.getDouble(5) == 0) return;
+            cells.put(rs.getDate(1).toLocalDate() + "|" + rs.getString(2) + "|" + rs.getString(3),
+                    rs.getLong(4) + "/" + rs.getDouble(5));
+        });
+        return cells;
+    }
+
+    private Map<String, String> rebuilt() {
+        backfillJob.backfill();
+        return snapshot();
+    }
+}
@@ -0,0 +1,107 @@
+package com.nsbm.group03.roomManagementService.Service;
+
+import com.nsbm.group03.roomManagementService.Dto.StatisticsByTypeDTO;
+import com.nsbm.group03.roomManagementService.Entity.TimeOrderedId;
+import com.nsbm.group03.roomManagementService.Enum.RoomStatus;
+import com.nsbm.group03.roomManagementService.Enum.RoomType;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Latency of RoomService.getStatisticsByType as the hotel grows from 30 to 5,000 rooms
+ * (room.benchmark.sizes), each room with its latest status in room_current_status. The statistics are one
+ * GROUP BY over room and the projection, so the time should grow with the room count, not with history.
+ * Opt-in: mvn test -Dtest=RoomStatisticsByTypeBenchmarkTest -Droom.benchmark=true
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.NONE)
+@ActiveProfiles({"h2", "no-seed"})
+@TestPropertySource(properties = "spring.datasource.url=jdbc:h2:mem:hms_statistics;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1")
+@EnabledIfSystemProperty(named = "room.benchmark", matches = "true")
+class RoomStatisticsByTypeBenchmarkTest {
+
+    private static final int WARMUP_RUNS = 5;
+    private static final int MEASURED_RUNS = 25;
+
+    @Autowired
+    private RoomService roomService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void benchmarkStatisticsByType() {
+        int[] sizes = Arrays.stream(System.getProperty("room.benchmark.sizes", "30,300,1000,5000").split(","))
+                .mapToInt(size -> Integer.parseInt(size.trim()))
+                .sorted()
+                .toArray();
+        LocalDate today = LocalDate.now();
+        LocalDateTime now = LocalDateTime.now();
+
+        int seeded = 0;
+        for (int size : sizes) {
+            seed(seeded, size, today, now);
+            seeded = size;
+
+            StatisticsByTypeDTO statistics = roomService.getStatisticsByType();
+            assertEquals(size, statistics.getTotalRooms());
+            assertEquals(size, statistics.getTotalAvailable() + statistics.getTotalOccupied()
+                    + statistics.getTotalMaintenance());
+            System.out.printf("[Benchmark] getStatisticsByType %6d rooms %8.2f ms (median of %d runs)%n",
+                    size, medianMillis(roomService::getStatisticsByType), MEASURED_RUNS);
+        }
+    }
+
+    // rooms [from, to), cycling through the types, each with one history row mirrored in room_current_status
+    private void seed(int from, int to, LocalDate today, LocalDateTime now) {
+        RoomType[] types = RoomType.values();
+        RoomStatus[] statuses = RoomStatus.values();
+        List<Object[]> rooms = new ArrayList<>();
+        List<Object[]> history = new ArrayList<>();
+        List<Object[]> current = new ArrayList<>();
+        for (int number = from; number < to; number++) {
+            byte[] roomId = TimeOrderedId.toBytes(TimeOrderedId.next());
+            byte[] historyId = TimeOrderedId.toBytes(TimeOrderedId.next());
+            String status = statuses[number % statuses.length].name();
+            rooms.add(new Object[] { roomId, String.format("S%05d", number), types[number % types.length].name(),
+                    5000.0, 1, status });
+            history.add(new Object[] { historyId, roomId, Date.valueOf(today), status, "SYSTEM", Timestamp.valueOf(now) });
+            current.add(new Object[] { roomId, historyId, Date.valueOf(today), status, "SYSTEM", Timestamp.valueOf(now) });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO room (room_id, room_number, room_type, price_per_night, capacity, status, version) "
+                + "VALUES (?, ?, ?, ?, ?, ?, 0)", rooms);
+        jdbcTemplate.batchUpdate("INSERT INTO room_status_history (id, room_id, date, status, changed_by, changed_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", history);
+        jdbcTemplate.batchUpdate("INSERT INTO room_current_status (room_id, history_id, date, status, changed_by, changed_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?)", current);
+        jdbcTemplate.execute("ANALYZE");
+    }
+
+    private static double medianMillis(Runnable query) {
+        for (int i = 0; i < WARMUP_RUNS; i++) {
+            query.run();
+        }
+        long[] nanos = new long[MEASURED_RUNS];
+        for (int i = 0; i < MEASURED_RUNS; i++) {
+            long started = System.nanoTime();
+            query.run();
+            nanos[i] = System.nanoTime() - started;
+        }
+        Arrays.sort(nanos);
+        return nanos[MEASURED_RUNS / 2] / 1_000_000.0;
+    }
+}